@@ -0,0 +1,25 @@
+package com.base.automation.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Contadores secundarios que JMH publica junto a cada resultado: comandos HTTP enviados y
+ * operaciones de la iteración. {@code commands / operations} son los comandos por operación.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class CommandCounter {
+
+    public long commands;
+    public long operations;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        commands = 0;
+        operations = 0;
+    }
+}
@@ -0,0 +1,93 @@
+package com.base.automation.benchmarks;
+
+import com.base.automation.interactions.ElementGeometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comandos de geometría que envía cada interacción, medidos contra el stub: el camino anterior con
+ * {@code getLocation()} + {@code getSize()} (tal como lo hacían TapOn, Scroll y Swipe) frente a
+ * {@link ElementGeometry}. El contador {@code commands / operations} da los comandos por
+ * interacción de cada camino; son las cifras "antes"/"después" de la optimización.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class GeometryBenchmarks {
+
+    @State(Scope.Thread)
+    public static class Element {
+        WebElement element;
+
+        @Setup(Level.Trial)
+        public void find(StubAppium stub) {
+            element = stub.driver.findElement(By.id("test-LOGIN"));
+        }
+    }
+
+    // TapOn, LongPress, DoubleTap, Pinch y DragTo: una ubicación y dos tamaños por elemento
+    @Benchmark
+    public void elementLegacy(StubAppium stub, Element target, CommandCounter counter, Blackhole blackhole) {
+        stub.measure(() -> {
+            Point location = target.element.getLocation();
+            blackhole.consume(location.getX() + target.element.getSize().getWidth() / 2);
+            blackhole.consume(location.getY() + target.element.getSize().getHeight() / 2);
+        }, counter);
+    }
+
+    @Benchmark
+    public void element(StubAppium stub, Element target, CommandCounter counter, Blackhole blackhole) {
+        stub.measure(() -> blackhole.consume(ElementGeometry.of(target.element).center()), counter);
+    }
+
+    // Scroll y ScrollUntil en un contenedor: ubicación y tamaño para el inicio y otra vez para el final
+    @Benchmark
+    public void containerLegacy(StubAppium stub, Element target, CommandCounter counter, Blackhole blackhole) {
+        stub.measure(() -> {
+            for (int point = 0; point < 2; point++) {
+                Point location = target.element.getLocation();
+                Dimension size = target.element.getSize();
+                blackhole.consume(location.getY() + size.getHeight());
+            }
+        }, counter);
+    }
+
+    @Benchmark
+    public void container(StubAppium stub, Element target, CommandCounter counter, Blackhole blackhole) {
+        stub.measure(() -> {
+            ElementGeometry area = ElementGeometry.of(target.element);
+            blackhole.consume(area.pointAt(0.5, 0.2));
+            blackhole.consume(area.height());
+        }, counter);
+    }
+
+    // Swipe y Scroll sin contenedor: el tamaño de la ventana en cada gesto
+    @Benchmark
+    public void screenLegacy(StubAppium stub, CommandCounter counter, Blackhole blackhole) {
+        stub.measure(() -> blackhole.consume(stub.driver.manage().window().getSize()), counter);
+    }
+
+    // El tamaño de la ventana se cachea por sesión, así que tras el primer gesto no cuesta comandos
+    @Benchmark
+    public void screen(StubAppium stub, CommandCounter counter, Blackhole blackhole) {
+        stub.measure(() -> blackhole.consume(ElementGeometry.ofScreen(stub.driver).center()), counter);
+    }
+}
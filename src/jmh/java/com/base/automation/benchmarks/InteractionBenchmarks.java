@@ -0,0 +1,88 @@
+package com.base.automation.benchmarks;
+
+import com.base.automation.interactions.EnterFast;
+import com.base.automation.interactions.GestureBatch;
+import com.base.automation.interactions.ScrollUntil;
+import com.base.automation.interactions.Swipe;
+import com.base.automation.interactions.TapOn;
+import com.base.automation.interactions.TypeKeys;
+import com.base.automation.interactions.Wait;
+import net.serenitybdd.screenplay.actions.Enter;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por operación de las interacciones contra el stub de Appium: ops/s, comandos por operación
+ * (contadores {@code commands} y {@code operations}) y, con {@code -prof gc}, asignaciones por
+ * operación. Un cambio que añada una ida y vuelta o una espera fija a un gesto se ve aquí como una
+ * caída de ops/s y un aumento de comandos por operación.
+ * <p>
+ * Se ejecuta con {@code mvn -Pbenchmarks test}; los argumentos de JMH van en {@code -Djmh.args}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class InteractionBenchmarks {
+
+    private static final Target FIELD = Target.the("campo de prueba").located(By.id("test-Username"));
+    private static final Target BUTTON = Target.the("botón de prueba").located(By.id("test-LOGIN"));
+
+    @Benchmark
+    public void tapOn(StubAppium stub, CommandCounter counter) {
+        stub.perform(TapOn.the(BUTTON), counter);
+    }
+
+    @Benchmark
+    public void swipe(StubAppium stub, CommandCounter counter) {
+        stub.perform(Swipe.up(), counter);
+    }
+
+    @Benchmark
+    public void scrollUntilVisibleElement(StubAppium stub, CommandCounter counter) {
+        stub.perform(ScrollUntil.downToFind(BUTTON), counter);
+    }
+
+    @Benchmark
+    public void waitUntilVisible(StubAppium stub, CommandCounter counter) {
+        stub.perform(Wait.untilVisible(BUTTON), counter);
+    }
+
+    @Benchmark
+    public void waitUntilPresent(StubAppium stub, CommandCounter counter) {
+        stub.perform(Wait.untilPresent(BUTTON), counter);
+    }
+
+    @Benchmark
+    public void enter(StubAppium stub, CommandCounter counter) {
+        stub.perform(Enter.theValue("standard_user").into(FIELD), counter);
+    }
+
+    @Benchmark
+    public void enterFast(StubAppium stub, CommandCounter counter) {
+        stub.perform(EnterFast.theValue("standard_user").into(FIELD), counter);
+    }
+
+    @Benchmark
+    public void tapAndTypeSeparately(StubAppium stub, CommandCounter counter) {
+        stub.perform(TapOn.the(FIELD), counter);
+        stub.perform(TypeKeys.text("standard_user"), counter);
+        stub.perform(TapOn.the(BUTTON), counter);
+        counter.operations -= 2;
+    }
+
+    @Benchmark
+    public void tapAndTypeBatched(StubAppium stub, CommandCounter counter) {
+        stub.perform(GestureBatch.of(TapOn.the(FIELD), TypeKeys.text("standard_user"), TapOn.the(BUTTON)), counter);
+    }
+}
@@ -0,0 +1,62 @@
+package com.base.automation.benchmarks;
+
+import com.base.automation.evidence.ScreenRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primer comando del escenario tras recibir la sesión, con y sin {@link ScreenRecorder}.
+ * <p>
+ * El stub atiende los comandos de una sesión de uno en uno, como Appium, y tarda
+ * {@code startCostMillis} en arrancar la grabación. Aunque el arranque se envía desde otro hilo, si
+ * llega antes al servidor el primer comando del escenario espera a que termine, y si no, lo espera
+ * el siguiente: la diferencia entre {@code recording=true} y {@code recording=false} es lo que la
+ * grabación retrasa cada escenario. Con un dispositivo real, la misma comparación la da el resumen
+ * de la ejecución ("primer comando tras asignar la sesión").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Dautomation.recording.enabled=true")
+public class RecordingBenchmarks {
+
+    @Param({"false", "true"})
+    public boolean recording;
+
+    @Param({"300"})
+    public long startCostMillis;
+
+    @Setup
+    public void configure(StubAppium stub) {
+        if (!ScreenRecorder.isEnabled()) {
+            throw new IllegalStateException("Hace falta -Dautomation.recording.enabled=true");
+        }
+        stub.server.recordingStartCost(Duration.ofMillis(startCostMillis));
+    }
+
+    // Lo que hacen AppiumHooks al asignar el driver y el primer paso del escenario; el escenario pasa y la
+    // grabación se detiene en segundo plano
+    @Benchmark
+    public void firstCommandAfterSetDriver(StubAppium stub, Blackhole blackhole) {
+        if (recording) {
+            ScreenRecorder.start(stub.driver);
+        }
+        blackhole.consume(stub.driver.getPageSource());
+        ScreenRecorder.finish(stub.driver, false, "benchmark");
+    }
+}
@@ -0,0 +1,82 @@
+package com.base.automation.benchmarks;
+
+import com.base.automation.drivers.DriverFactory;
+import com.base.automation.interactions.ScrollUntil;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScrollUntil sobre una lista en la que el elemento no aparece hasta {@code hiddenProbes} swipes.
+ * <p>
+ * El stub responde a cada búsqueda fallida tras el implicit wait de la sesión (10 s), igual que
+ * UiAutomator2. Si alguna comprobación lo esperase, una sola operación tardaría más que el implicit
+ * wait; el benchmark falla en ese caso y cuando el número de swipes no coincide con las sondas
+ * ocultas. Lo esperable es que ops/s baje y {@code commands / operations} suba en proporción a
+ * {@code hiddenProbes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ScrollBenchmarks {
+
+    private static final Target ITEM = Target.the("elemento de la lista").located(By.id("test-Item"));
+    private static final String ACTIONS = "POST /session/{id}/actions";
+
+    @Param({"0", "2", "5"})
+    public int hiddenProbes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SwipeCounter {
+        public long swipes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            swipes = 0;
+        }
+    }
+
+    @Benchmark
+    public void scrollUntilHiddenElement(StubAppium stub, CommandCounter counter, SwipeCounter swipes) {
+        ScrollUntil search = ScrollUntil.builder()
+                .target(ITEM)
+                .detectEnd(false)
+                .waitBetween(Duration.ZERO)
+                .build();
+        int actionsBefore = stub.server.commandCount(ACTIONS);
+        long start = System.nanoTime();
+
+        stub.server.hideElementsFor(hiddenProbes);
+        stub.perform(search, counter);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        int performed = stub.server.commandCount(ACTIONS) - actionsBefore;
+        swipes.swipes += performed;
+        if (performed != hiddenProbes) {
+            throw new IllegalStateException(String.format("%d swipes para %d sondas ocultas", performed, hiddenProbes));
+        }
+        if (elapsed.compareTo(DriverFactory.IMPLICIT_WAIT) >= 0) {
+            throw new IllegalStateException(String.format(
+                    "La búsqueda tardó %d ms: alguna sonda esperó el implicit wait", elapsed.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.base.automation.benchmarks;
+
+import com.base.automation.drivers.DriverFactory;
+import com.base.automation.interactions.ScreenState;
+import com.base.automation.stub.AppiumStubServer;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Performable;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+
+/**
+ * Sesión contra el stub de Appium en proceso, compartida por todos los benchmarks de una prueba.
+ * <p>
+ * La latencia artificial del stub se controla con {@code -p latencyMillis=...}; con 0 se mide el
+ * coste propio del framework y con unos milisegundos se ve cuánto pesa cada ida y vuelta.
+ */
+@State(Scope.Benchmark)
+public class StubAppium {
+
+    @Param({"0", "5"})
+    public long latencyMillis;
+
+    AppiumStubServer server;
+    AndroidDriver driver;
+    Actor actor;
+
+    @Setup
+    public void start() throws IOException {
+        server = new AppiumStubServer(0, Duration.ofMillis(latencyMillis)).start();
+        UiAutomator2Options options = new UiAutomator2Options()
+                .setPlatformName("Android")
+                .setAutomationName("UiAutomator2")
+                .setDeviceName("stub-device");
+        driver = new AndroidDriver(new URL(server.url()), options);
+        // Igual que DriverFactory: una búsqueda que no encuentra nada bloquea todo el implicit wait
+        driver.manage().timeouts().implicitlyWait(DriverFactory.IMPLICIT_WAIT);
+        actor = Actor.named("Benchmark").whoCan(BrowseTheWeb.with(driver));
+    }
+
+    @TearDown
+    public void stop() {
+        driver.quit();
+        server.close();
+    }
+
+    /**
+     * Ejecuta la interacción y suma al contador los comandos que recibió el stub.
+     */
+    void perform(Performable interaction, CommandCounter counter) {
+        measure(() -> actor.attemptsTo(interaction), counter);
+    }
+
+    /**
+     * Ejecuta los comandos directamente sobre el driver y suma los que recibió el stub.
+     */
+    void measure(Runnable commands, CommandCounter counter) {
+        int before = server.totalCommands();
+        commands.run();
+        counter.commands += server.totalCommands() - before;
+        counter.operations++;
+        // Cada invocación parte sin geometría, jerarquía ni elementos cacheados
+        ScreenState.changed();
+    }
+}
@@ -0,0 +1,159 @@
+package com.base.automation.abilities;
+
+import com.base.automation.interactions.ElementProbe;
+import com.base.automation.interactions.ScreenState;
+import net.serenitybdd.core.pages.WebElementFacade;
+import net.serenitybdd.screenplay.Ability;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Habilidad de reutilizar los elementos ya resueltos en la pantalla actual.
+ * <p>
+ * Guarda la referencia de cada {@link Target} resuelto mientras la pantalla no cambie: la segunda
+ * interacción sobre el mismo target (o la que sigue a un {@code Wait} que ya lo encontró) no envía
+ * otro {@code findElement}. Todo se descarta cuando {@link ScreenState#changed()} avisa de un gesto,
+ * escritura o navegación en el hilo. Si el dispositivo responde que una referencia está obsoleta,
+ * se vuelve a buscar el target y se repite la acción una vez.
+ * <p>
+ * Las búsquedas pasan por {@link Target#resolveFor(Actor)}, igual que las interacciones de Serenity:
+ * se respetan los targets parametrizados con {@code of(...)} y los que viven en un iframe, y un
+ * elemento ausente falla con la misma excepción.
+ */
+public class ElementCache implements Ability {
+
+    // Generación de pantalla del hilo; las referencias guardadas valen mientras no cambie
+    private static final ThreadLocal<long[]> generation = ThreadLocal.withInitial(() -> new long[1]);
+    // Por escenario: consultas, aciertos, referencias obsoletas
+    private static final ThreadLocal<int[]> usage = ThreadLocal.withInitial(() -> new int[3]);
+
+    private final Actor actor;
+    private final Map<Target, WebElement> elements = new HashMap<>();
+    private long elementsGeneration = -1;
+
+    private ElementCache(Actor actor) {
+        this.actor = actor;
+    }
+
+    /**
+     * La habilidad del actor; si aún no la tiene, se le da sobre su {@link BrowseTheWeb}.
+     */
+    public static ElementCache as(Actor actor) {
+        ElementCache cache = actor.abilityTo(ElementCache.class);
+        if (cache == null) {
+            cache = new ElementCache(actor);
+            actor.can(cache);
+        }
+        return cache;
+    }
+
+    public static void invalidate() {
+        generation.get()[0]++;
+    }
+
+    /**
+     * Aplica la acción al elemento del target, resolviéndolo sólo si no está guardado para la
+     * pantalla actual.
+     */
+    public <R> R use(Target target, Function<WebElement, R> action) {
+        WebElement element = cached(target);
+        boolean hit = element != null;
+        if (!hit) {
+            element = find(target);
+        }
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            stale(hit);
+            return action.apply(find(target));
+        }
+    }
+
+    /**
+     * Como {@link #use}, pero sin esperar por el elemento: si no está en pantalla devuelve vacío.
+     */
+    public <R> Optional<R> useIfPresent(Target target, Function<WebElement, R> action) {
+        WebElement element = cached(target);
+        boolean hit = element != null;
+        if (!hit) {
+            element = findNow(target);
+            if (element == null) {
+                return Optional.empty();
+            }
+        }
+        try {
+            return Optional.ofNullable(action.apply(element));
+        } catch (StaleElementReferenceException e) {
+            stale(hit);
+            element = findNow(target);
+            return element == null ? Optional.empty() : Optional.ofNullable(action.apply(element));
+        }
+    }
+
+    /**
+     * Guarda un elemento que otra interacción ya buscó (p. ej. la última comprobación de un {@code Wait}).
+     */
+    public WebElement remember(Target target, WebElement element) {
+        if (elementsGeneration != generation.get()[0]) {
+            elements.clear();
+            elementsGeneration = generation.get()[0];
+        }
+        elements.put(target, element);
+        return element;
+    }
+
+    private WebElement cached(Target target) {
+        usage.get()[0]++;
+        WebElement element = elementsGeneration == generation.get()[0] ? elements.get(target) : null;
+        if (element != null) {
+            usage.get()[1]++;
+        }
+        return element;
+    }
+
+    // Una referencia guardada que resultó obsoleta no ahorró la búsqueda
+    private static void stale(boolean hit) {
+        if (hit) {
+            usage.get()[2]++;
+        }
+    }
+
+    private WebElement find(Target target) {
+        return remember(target, target.resolveFor(actor));
+    }
+
+    private WebElement findNow(Target target) {
+        WebDriver driver = BrowseTheWeb.as(actor).getDriver();
+        List<WebElementFacade> found = ElementProbe.withoutImplicitWait(driver, () -> target.resolveAllFor(actor));
+        return found.isEmpty() ? null : remember(target, found.get(0));
+    }
+
+    /**
+     * Aciertos del escenario y comandos {@code findElement} ahorrados (cada referencia obsoleta
+     * cuesta una búsqueda). Reinicia los contadores del hilo.
+     */
+    public static String report() {
+        int[] counts = usage.get();
+        usage.remove();
+        if (counts[0] == 0) {
+            return "Caché de elementos: sin consultas";
+        }
+        return String.format("Caché de elementos: %d consultas, %d aciertos (%.0f%%), %d obsoletas, %d búsquedas ahorradas",
+                counts[0], counts[1], counts[1] * 100.0 / counts[0], counts[2], counts[1] - counts[2]);
+    }
+
+    @Override
+    public String toString() {
+        return "reutilizar los elementos ya resueltos en la pantalla actual";
+    }
+}
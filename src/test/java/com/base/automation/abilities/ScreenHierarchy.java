@@ -0,0 +1,218 @@
+package com.base.automation.abilities;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Jerarquía de UiAutomator2 ({@code getPageSource()}) parseada en memoria, con índices por
+ * resource-id, content-desc, texto y clase.
+ * <p>
+ * Resuelve localmente accessibility id, id, clase, expresiones {@code UiSelector} sencillas y
+ * xpath; los xpaths del tipo {@code //clase[@atributo="valor"]} van directos a los índices y el
+ * resto se evalúa con el motor xpath de jsoup. Para un localizador que no sabe evaluar devuelve vacío y el
+ * llamador debe preguntar al dispositivo.
+ */
+public class ScreenHierarchy {
+
+    private static final Pattern SIMPLE_XPATH = Pattern.compile(
+            "^//([\\w.]+|\\*)(?:\\[@(text|content-desc|resource-id)=([\"'])(.*?)\\3])?$");
+    private static final Pattern UI_SELECTOR_CALL = Pattern.compile(
+            "\\.(\\w+)\\((?:\"((?:[^\"\\\\]|\\\\.)*)\"|(true|false))\\)");
+    private static final String UI_SELECTOR = "new UiSelector()";
+
+    private final Document document;
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Element, Node> byElement = new IdentityHashMap<>();
+    private final Map<String, List<Node>> byResourceId = new HashMap<>();
+    private final Map<String, List<Node>> byShortId = new HashMap<>();
+    private final Map<String, List<Node>> byContentDesc = new HashMap<>();
+    private final Map<String, List<Node>> byText = new HashMap<>();
+    private final Map<String, List<Node>> byClass = new HashMap<>();
+
+    private ScreenHierarchy(Document document) {
+        this.document = document;
+        for (Element element : document.getAllElements()) {
+            if (!element.hasAttr("class")) {
+                continue;
+            }
+            Node node = new Node(element.attr("class"), element.attr("resource-id"), element.attr("content-desc"),
+                    element.attr("text"), !"false".equals(element.attr("displayed")),
+                    !"false".equals(element.attr("enabled")), "true".equals(element.attr("selected")));
+            nodes.add(node);
+            byElement.put(element, node);
+            index(byClass, node.className(), node);
+            index(byResourceId, node.resourceId(), node);
+            index(byContentDesc, node.contentDesc(), node);
+            index(byText, node.text(), node);
+            int idSeparator = node.resourceId().indexOf(":id/");
+            if (idSeparator >= 0) {
+                index(byShortId, node.resourceId().substring(idSeparator + ":id/".length()), node);
+            }
+        }
+    }
+
+    public static ScreenHierarchy parse(String pageSource) {
+        return new ScreenHierarchy(Jsoup.parse(pageSource, "", Parser.xmlParser()));
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Hash de la estructura hasta {@code maxDepth} niveles bajo la raíz (clase, ids, descripción y
+     * texto de cada nodo); dos pantallas distintas casi nunca coinciden en los primeros niveles.
+     */
+    public long digest(int maxDepth) {
+        long hash = 17;
+        for (Element root : document.children()) {
+            hash = digest(root, 0, maxDepth, hash);
+        }
+        return hash;
+    }
+
+    private static long digest(Element element, int depth, int maxDepth, long hash) {
+        hash = 31 * hash + depth;
+        hash = 31 * hash + element.attr("class").hashCode();
+        hash = 31 * hash + element.attr("resource-id").hashCode();
+        hash = 31 * hash + element.attr("content-desc").hashCode();
+        hash = 31 * hash + element.attr("text").hashCode();
+        if (depth < maxDepth) {
+            for (Element child : element.children()) {
+                hash = digest(child, depth + 1, maxDepth, hash);
+            }
+        }
+        return hash;
+    }
+
+    public Optional<List<Node>> find(By locator) {
+        String using;
+        String value;
+
+        if (locator instanceof By.Remotable remotable) {
+            using = remotable.getRemoteParameters().using();
+            value = String.valueOf(remotable.getRemoteParameters().value());
+        } else if (locator.toString().startsWith("By.id: ")) {
+            using = "id";
+            value = locator.toString().substring("By.id: ".length());
+        } else {
+            return Optional.empty();
+        }
+
+        return switch (using) {
+            case "accessibility id" -> Optional.of(lookup(byContentDesc, value));
+            case "id" -> Optional.of(value.contains(":id/") ? lookup(byResourceId, value) : lookup(byShortId, value));
+            case "class name" -> Optional.of(lookup(byClass, value));
+            case "-android uiautomator" -> uiSelector(value).map(this::filter);
+            case "xpath" -> xpath(value);
+            default -> Optional.empty();
+        };
+    }
+
+    private Optional<List<Node>> xpath(String xpath) {
+        Matcher simple = SIMPLE_XPATH.matcher(xpath.trim());
+        if (simple.matches()) {
+            String className = simple.group(1);
+            if (simple.group(2) == null) {
+                return Optional.of(lookup(byClass, className));
+            }
+            List<Node> candidates = switch (simple.group(2)) {
+                case "text" -> lookup(byText, simple.group(4));
+                case "content-desc" -> lookup(byContentDesc, simple.group(4));
+                default -> lookup(byResourceId, simple.group(4));
+            };
+            return Optional.of(className.equals("*") ? candidates
+                    : candidates.stream().filter(node -> node.className().equals(className)).toList());
+        }
+
+        try {
+            return Optional.of(document.selectXpath(xpath).stream()
+                    .map(byElement::get)
+                    .filter(Objects::nonNull)
+                    .toList());
+        } catch (IllegalStateException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Predicate<Node>> uiSelector(String expression) {
+        String selector = expression.trim().replaceAll(";$", "");
+        if (!selector.startsWith(UI_SELECTOR)) {
+            return Optional.empty();
+        }
+
+        Predicate<Node> predicate = node -> true;
+        Matcher call = UI_SELECTOR_CALL.matcher(selector);
+        int position = UI_SELECTOR.length();
+        while (position < selector.length()) {
+            if (!call.find(position) || call.start() != position) {
+                return Optional.empty();
+            }
+            Optional<Predicate<Node>> condition = condition(call.group(1),
+                    call.group(2) != null ? call.group(2).replace("\\\"", "\"").replace("\\\\", "\\") : call.group(3));
+            if (condition.isEmpty()) {
+                return Optional.empty();
+            }
+            predicate = predicate.and(condition.get());
+            position = call.end();
+        }
+        return Optional.of(predicate);
+    }
+
+    private static Optional<Predicate<Node>> condition(String method, String argument) {
+        Predicate<Node> condition = switch (method) {
+            case "text" -> node -> node.text().equals(argument);
+            case "textContains" -> node -> node.text().contains(argument);
+            case "textStartsWith" -> node -> node.text().startsWith(argument);
+            case "textMatches" -> node -> node.text().matches(argument);
+            case "description" -> node -> node.contentDesc().equals(argument);
+            case "descriptionContains" -> node -> node.contentDesc().contains(argument);
+            case "descriptionStartsWith" -> node -> node.contentDesc().startsWith(argument);
+            case "descriptionMatches" -> node -> node.contentDesc().matches(argument);
+            case "resourceId" -> node -> node.resourceId().equals(argument);
+            case "resourceIdMatches" -> node -> node.resourceId().matches(argument);
+            case "className" -> node -> node.className().equals(argument);
+            case "classNameMatches" -> node -> node.className().matches(argument);
+            case "enabled" -> node -> node.enabled() == Boolean.parseBoolean(argument);
+            case "selected" -> node -> node.selected() == Boolean.parseBoolean(argument);
+            default -> null;
+        };
+        return Optional.ofNullable(condition);
+    }
+
+    private List<Node> filter(Predicate<Node> predicate) {
+        return nodes.stream().filter(predicate).toList();
+    }
+
+    private static List<Node> lookup(Map<String, List<Node>> index, String key) {
+        return index.getOrDefault(key, Collections.emptyList());
+    }
+
+    private static void index(Map<String, List<Node>> index, String key, Node node) {
+        if (!key.isEmpty()) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+        }
+    }
+
+    /**
+     * Nodo de la jerarquía con los atributos que consultan las preguntas.
+     */
+    public record Node(String className, String resourceId, String contentDesc, String text,
+                       boolean displayed, boolean enabled, boolean selected) {
+    }
+}
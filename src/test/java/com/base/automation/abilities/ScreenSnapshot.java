@@ -0,0 +1,143 @@
+package com.base.automation.abilities;
+
+import com.base.automation.interactions.ElementProbe;
+import com.base.automation.interactions.ScreenState;
+import com.base.automation.utils.Config;
+import net.serenitybdd.screenplay.Ability;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Habilidad de consultar la pantalla sobre una copia local de la jerarquía.
+ * <p>
+ * La primera consulta tras un cambio de pantalla pide {@code getPageSource()} una vez y la parsea en
+ * una {@link ScreenHierarchy}; las siguientes se responden en memoria, sin ir al dispositivo. La
+ * copia se descarta cuando {@link ScreenState#changed()} avisa de un gesto, escritura o navegación
+ * en el hilo. Las interacciones que cambian la pantalla sin pasar por él (p. ej. {@code Click} de
+ * Serenity) deben llamarlo si después se consulta la instantánea.
+ * <p>
+ * Con {@code automation.locators.record.dir} cada jerarquía distinta que se lee se guarda allí como
+ * {@code .xml}, para analizar los localizadores con {@code LocatorAnalyzer}.
+ */
+public class ScreenSnapshot implements Ability {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenSnapshot.class);
+
+    // Generación de pantalla del hilo; la instantánea es válida mientras no cambie
+    private static final ThreadLocal<long[]> generation = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final String RECORD_DIR = Config.getString("automation.locators.record.dir", "");
+
+    private static final AtomicInteger fetches = new AtomicInteger();
+    private static final AtomicInteger localAnswers = new AtomicInteger();
+    private static final AtomicInteger fallbacks = new AtomicInteger();
+
+    private final WebDriver driver;
+    private ScreenHierarchy hierarchy;
+    private long hierarchyGeneration = -1;
+
+    private ScreenSnapshot(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static ScreenSnapshot with(WebDriver driver) {
+        return new ScreenSnapshot(driver);
+    }
+
+    /**
+     * La habilidad del actor; si aún no la tiene, se le da sobre el driver de {@link BrowseTheWeb}.
+     */
+    public static ScreenSnapshot as(Actor actor) {
+        ScreenSnapshot snapshot = actor.abilityTo(ScreenSnapshot.class);
+        if (snapshot == null) {
+            snapshot = with(BrowseTheWeb.as(actor).getDriver());
+            actor.can(snapshot);
+        }
+        return snapshot;
+    }
+
+    public static void invalidate() {
+        generation.get()[0]++;
+    }
+
+    public ScreenHierarchy hierarchy() {
+        if (hierarchy == null || hierarchyGeneration != generation.get()[0]) {
+            return refresh();
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Vuelve a leer la jerarquía aunque no haya cambios registrados; la usan las esperas que
+     * sondean la pantalla, y deja la instantánea lista para las preguntas siguientes.
+     */
+    public ScreenHierarchy refresh() {
+        long start = System.nanoTime();
+        String source = driver.getPageSource();
+        hierarchy = ScreenHierarchy.parse(source);
+        hierarchyGeneration = generation.get()[0];
+        if (!RECORD_DIR.isEmpty()) {
+            record(source, hierarchy);
+        }
+        fetches.incrementAndGet();
+        logger.debug("Jerarquía de {} nodos leída en {} ms", hierarchy.size(), (System.nanoTime() - start) / 1_000_000);
+        return hierarchy;
+    }
+
+    // Un fichero por estructura distinta: volver a la misma pantalla no lo duplica
+    private static void record(String source, ScreenHierarchy hierarchy) {
+        Path file = Paths.get(RECORD_DIR).resolve(Long.toHexString(hierarchy.digest(Integer.MAX_VALUE)) + ".xml");
+        try {
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, source);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo grabar la jerarquía en {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Si la jerarquía guardada sigue siendo la de la pantalla actual (no hubo cambios desde que se leyó).
+     */
+    public boolean isCurrent() {
+        return hierarchy != null && hierarchyGeneration == generation.get()[0];
+    }
+
+    /**
+     * Nodos que coinciden con el target en la instantánea; vacío si su localizador no se puede
+     * evaluar localmente.
+     */
+    public Optional<List<ScreenHierarchy.Node>> find(Target target) {
+        return hierarchy().find(ElementProbe.locatorOf(driver, target));
+    }
+
+    /**
+     * Cuenta una consulta según se haya respondido en local o en el dispositivo.
+     */
+    public static void recordAnswer(boolean local) {
+        (local ? localAnswers : fallbacks).incrementAndGet();
+    }
+
+    public static String report() {
+        return String.format("Instantáneas de pantalla: %d lecturas de page source, %d consultas resueltas en local, "
+                + "%d resueltas en el dispositivo", fetches.get(), localAnswers.get(), fallbacks.get());
+    }
+
+    @Override
+    public String toString() {
+        return "consultar la pantalla sobre una instantánea de su jerarquía";
+    }
+}
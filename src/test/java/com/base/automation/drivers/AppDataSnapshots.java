@@ -0,0 +1,220 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import com.base.automation.utils.PreconditionMetrics;
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instantáneas del directorio de datos de la app para arrancar escenarios con una precondición ya
+ * construida (sesión iniciada, carrito lleno...) sin recorrer la UI.
+ * <p>
+ * Un escenario de preparación con {@code @capture:<nombre>} guarda, si termina bien, el directorio
+ * de datos de la app empaquetado con {@code tar} en el dispositivo; los escenarios con
+ * {@code @snapshot:<nombre>} lo restauran fichero a fichero con {@code pushFile} en
+ * {@code @<paquete>/<ruta>} antes de empezar. Las instantáneas se guardan en el host por nombre y
+ * SHA-256 del APK, junto con el hash de su contenido (SHA-256 del listado {@code sha256sum} de los
+ * ficheros). Antes de extraer una instantánea que ya existe se calcula ese listado en el
+ * dispositivo: si coincide, los datos no han cambiado y no se vuelven a extraer.
+ * <p>
+ * Se lee con {@code mobile: shell} y {@code run-as}, por lo que requiere un APK depurable y un
+ * servidor Appium arrancado con {@code --allow-insecure adb_shell} (o {@code --relaxed-security}).
+ */
+public class AppDataSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppDataSnapshots.class);
+
+    private static final String CAPTURE_TAG = "@capture:";
+    private static final String RESTORE_TAG = "@snapshot:";
+    private static final String APP_DATA = "@" + DriverFactory.APP_PACKAGE + "/";
+    // La caché de la app no forma parte de la precondición
+    private static final String FILES = "cd /data/data/" + DriverFactory.APP_PACKAGE
+            + " && find . -type f ! -path \"*/cache/*\"";
+    private static final String LIST_CONTENT = FILES + " -exec sha256sum {} + | LC_ALL=C sort";
+    private static final String ARCHIVE = FILES + " | tar -cf - -T - | base64";
+
+    private static final Path DIRECTORY = Paths.get(Config.getString("automation.snapshot.dir", "target/app-snapshots"));
+    private static final boolean REFRESH = Config.getBoolean("automation.snapshot.refresh", false);
+
+    private static final ThreadLocal<String> toRestore = new ThreadLocal<>();
+    private static final ThreadLocal<String> toCapture = new ThreadLocal<>();
+    private static final Map<String, Snapshot> loaded = new ConcurrentHashMap<>();
+
+    private AppDataSnapshots() {
+    }
+
+    public static void select(Collection<String> tags) {
+        tagValue(tags, RESTORE_TAG).ifPresent(toRestore::set);
+        tagValue(tags, CAPTURE_TAG).ifPresent(toCapture::set);
+    }
+
+    public static void clear() {
+        toRestore.remove();
+        toCapture.remove();
+    }
+
+    /**
+     * Restaura la instantánea pedida por el escenario, si la hay; se llama con la app ya preparada.
+     */
+    public static void restoreSelected(AndroidDriver driver) {
+        String name = toRestore.get();
+        if (name == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Snapshot snapshot = load(name);
+        driver.terminateApp(DriverFactory.APP_PACKAGE);
+        snapshot.files().forEach((path, content) -> driver.pushFile(APP_DATA + path, content));
+        driver.activateApp(DriverFactory.APP_PACKAGE);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        PreconditionMetrics.record("snapshot " + name, elapsed);
+        logger.info("Instantánea {} ({} ficheros, {}) restaurada en {} ms",
+                name, snapshot.files().size(), snapshot.hash().substring(0, 12), elapsed.toMillis());
+    }
+
+    /**
+     * Guarda los datos de la app si el escenario pidió capturar y aún no hay una instantánea válida.
+     */
+    public static void captureSelected(AndroidDriver driver) {
+        String name = toCapture.get();
+        if (name == null) {
+            return;
+        }
+
+        Path file = fileFor(name);
+        Path hashFile = hashFileFor(name);
+        String hash = sha256(runAs(driver, LIST_CONTENT).getBytes(StandardCharsets.UTF_8));
+        if (!REFRESH && Files.exists(file) && hash.equals(storedHash(hashFile))) {
+            logger.info("Instantánea {} sin cambios ({}), no se vuelve a extraer", name, hash.substring(0, 12));
+            return;
+        }
+
+        byte[] archive = Base64.getMimeDecoder().decode(runAs(driver, ARCHIVE));
+        try {
+            Files.createDirectories(DIRECTORY);
+            Files.write(file, archive);
+            Files.writeString(hashFile, hash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la instantánea " + name, e);
+        }
+        loaded.remove(name);
+        logger.info("Instantánea {} capturada en {} ({} bytes, {})", name, file, archive.length, hash.substring(0, 12));
+    }
+
+    private static Snapshot load(String name) {
+        return loaded.computeIfAbsent(name, key -> {
+            Path file = fileFor(key);
+            if (!Files.exists(file)) {
+                throw new IllegalStateException("No existe la instantánea " + key + " para este APK; ejecute antes el escenario "
+                        + CAPTURE_TAG + key);
+            }
+            try {
+                return new Snapshot(untar(Files.readAllBytes(file)), storedHash(hashFileFor(key)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer la instantánea " + key, e);
+            }
+        });
+    }
+
+    // stdout del script ejecutado con run-as en el directorio de datos de la app
+    private static String runAs(AndroidDriver driver, String script) {
+        Object output = driver.executeScript("mobile: shell", Map.of(
+                "command", "run-as",
+                "args", List.of(DriverFactory.APP_PACKAGE, "sh", "-c", "'" + script + "'")));
+        return output == null ? "" : output.toString();
+    }
+
+    // Lector mínimo de tar (ustar y nombres largos GNU): ficheros regulares con la ruta sin "./"
+    private static Map<String, byte[]> untar(byte[] archive) throws IOException {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        String longName = null;
+        int offset = 0;
+        while (offset + 512 <= archive.length && archive[offset] != 0) {
+            String name = field(archive, offset, 100);
+            String prefix = field(archive, offset + 345, 155);
+            int size = Integer.parseInt(field(archive, offset + 124, 12).trim(), 8);
+            byte type = archive[offset + 156];
+            if (size < 0 || offset + 512 + size > archive.length) {
+                throw new IOException("Instantánea truncada en la entrada " + name);
+            }
+            byte[] content = Arrays.copyOfRange(archive, offset + 512, offset + 512 + size);
+            offset += 512 + (size + 511) / 512 * 512;
+
+            if (type == 'L') {
+                longName = new String(content, StandardCharsets.UTF_8).replace("\0", "");
+                continue;
+            }
+            String path = longName != null ? longName : prefix.isEmpty() ? name : prefix + "/" + name;
+            longName = null;
+            // Los directorios los crea pushFile
+            if (type == '0' || type == 0) {
+                files.put(path.startsWith("./") ? path.substring(2) : path, content);
+            }
+        }
+        return files;
+    }
+
+    private static String field(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static Path fileFor(String name) {
+        return DIRECTORY.resolve(name + "-" + AppInstaller.checksum().substring(0, 12) + ".tar");
+    }
+
+    private static Path hashFileFor(String name) {
+        return DIRECTORY.resolve(name + "-" + AppInstaller.checksum().substring(0, 12) + ".sha256");
+    }
+
+    private static String storedHash(Path hashFile) {
+        try {
+            return Files.exists(hashFile) ? Files.readString(hashFile).trim() : "";
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer " + hashFile, e);
+        }
+    }
+
+    private static Optional<String> tagValue(Collection<String> tags, String prefix) {
+        return tags.stream()
+                .filter(tag -> tag.startsWith(prefix))
+                .map(tag -> tag.substring(prefix.length()))
+                .reduce((first, second) -> second);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(Map<String, byte[]> files, String hash) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.appmanagement.AndroidInstallApplicationOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instala el APK una sola vez por dispositivo y ejecución.
+ * <p>
+ * Junto a la app se deja en el dispositivo un marcador con el SHA-256 del APK instalado. Si la app
+ * ya está instalada y el marcador coincide con el APK actual, no se reinstala; así una ejecución
+ * nueva sobre el mismo emulador no paga la instalación salvo que el APK haya cambiado.
+ */
+public class AppInstaller {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppInstaller.class);
+
+    public static final Path APK = Paths.get(Config.getString("automation.app.path", "src/test/resources/apk/SauceLabs.apk"))
+            .toAbsolutePath();
+    private static final String MARKER = "/data/local/tmp/" + DriverFactory.APP_PACKAGE + ".sha256";
+
+    private static final Set<String> preparedDevices = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Object> deviceLocks = new ConcurrentHashMap<>();
+    private static volatile String apkChecksum;
+    private static volatile Duration lastInstallDuration;
+
+    private AppInstaller() {
+    }
+
+    public static void ensureInstalled(AndroidDriver driver, Device device) {
+        if (preparedDevices.contains(device.udid())) {
+            return;
+        }
+        synchronized (deviceLocks.computeIfAbsent(device.udid(), k -> new Object())) {
+            if (preparedDevices.contains(device.udid())) {
+                return;
+            }
+            if (driver.isAppInstalled(DriverFactory.APP_PACKAGE) && checksum().equals(installedChecksum(driver))) {
+                logger.info("APK sin cambios en {} ({}), se omite la instalación", device.udid(), checksum().substring(0, 12));
+            } else {
+                install(driver);
+            }
+            preparedDevices.add(device.udid());
+        }
+    }
+
+    public static void reinstall(AndroidDriver driver) {
+        driver.removeApp(DriverFactory.APP_PACKAGE);
+        install(driver);
+    }
+
+    /**
+     * Duración de la última instalación medida en esta ejecución, o {@code null} si no hubo ninguna.
+     */
+    public static Duration lastInstallDuration() {
+        return lastInstallDuration;
+    }
+
+    private static void install(AndroidDriver driver) {
+        long start = System.nanoTime();
+        driver.installApp(APK.toString(), new AndroidInstallApplicationOptions()
+                .withReplaceEnabled()
+                .withGrantPermissionsEnabled()
+                .withTimeout(Duration.ofMinutes(2)));
+        driver.pushFile(MARKER, checksum().getBytes(StandardCharsets.UTF_8));
+        lastInstallDuration = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("APK instalado en {} ms", lastInstallDuration.toMillis());
+    }
+
+    private static String installedChecksum(AndroidDriver driver) {
+        try {
+            return new String(driver.pullFile(MARKER), StandardCharsets.UTF_8).trim();
+        } catch (Exception e) {
+            // Sin marcador: la app se instaló por otra vía
+            return "";
+        }
+    }
+
+    /**
+     * SHA-256 del APK local, calculado una sola vez por ejecución.
+     */
+    public static String checksum() {
+        if (apkChecksum == null) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                apkChecksum = HexFormat.of().formatHex(digest.digest(Files.readAllBytes(APK)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el APK " + APK, e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return apkChecksum;
+    }
+}
@@ -0,0 +1,74 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Prepara la app al inicio de cada escenario con la {@link ResetStrategy} elegida para él y mide
+ * cuánto se ahorra frente a reinstalar el APK, que era lo que hacía {@code fullReset=true}.
+ * <p>
+ * La referencia es la instalación medida en esta ejecución; si el APK no tuvo que instalarse se usa
+ * {@code automation.reset.reinstall.estimate}.
+ */
+public class AppReset {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppReset.class);
+
+    private static final Duration REINSTALL_ESTIMATE =
+            Config.getMillis("automation.reset.reinstall.estimate", Duration.ofSeconds(30));
+
+    private static final ThreadLocal<ResetStrategy> selected = new ThreadLocal<>();
+    // Por estrategia: [escenarios, ms de reset, ms ahorrados]
+    private static final Map<ResetStrategy, AtomicLongArray> totals = new ConcurrentHashMap<>();
+
+    private AppReset() {
+    }
+
+    public static void select(ResetStrategy strategy) {
+        selected.set(strategy);
+    }
+
+    public static void clear() {
+        selected.remove();
+    }
+
+    public static void prepare(AndroidDriver driver) {
+        AppInstaller.ensureInstalled(driver, DeviceRegistry.current());
+
+        ResetStrategy strategy = selected.get() != null ? selected.get() : ResetStrategy.configured();
+        long start = System.nanoTime();
+        strategy.apply(driver);
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        Duration baseline = AppInstaller.lastInstallDuration() != null ? AppInstaller.lastInstallDuration() : REINSTALL_ESTIMATE;
+        long saved = Math.max(0, baseline.toMillis() - elapsed);
+
+        AtomicLongArray counts = totals.computeIfAbsent(strategy, k -> new AtomicLongArray(3));
+        counts.incrementAndGet(0);
+        counts.addAndGet(1, elapsed);
+        counts.addAndGet(2, saved);
+        logger.info("App preparada con reset {} en {} ms (ahorro estimado frente a reinstalar: {} ms)",
+                strategy, elapsed, saved);
+
+        AppDataSnapshots.restoreSelected(driver);
+    }
+
+    public static String report() {
+        if (totals.isEmpty()) {
+            return "Reset de app: sin escenarios";
+        }
+        StringBuilder report = new StringBuilder("Reset de app por estrategia:");
+        new TreeMap<>(totals).forEach((strategy, counts) -> report.append(String.format(
+                "%n  %s: %d escenarios, %d ms promedio, ahorro %d ms/escenario (%d ms en total)",
+                strategy, counts.get(0), counts.get(1) / counts.get(0), counts.get(2) / counts.get(0), counts.get(2))));
+        return report.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.base.automation.drivers;
+
+import com.base.automation.interactions.ServerSideSync;
+import com.base.automation.utils.Config;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Perfiles de capabilities con nombre (emulador local, varios emuladores, stub) leídos de
+ * serenity.conf.
+ * <p>
+ * El bloque {@code appium { }} define las capabilities comunes y cada
+ * {@code automation.profiles.<nombre> { }} sólo las que cambia. Los perfiles se leen y validan una
+ * vez por JVM, al cargar la clase, y las capabilities de cada perfil y dispositivo se construyen una
+ * sola vez y se comparten como {@link ImmutableCapabilities}. El perfil se elige por escenario con
+ * el tag {@code @profile:<nombre>}; sin tag se usa {@code automation.profile} (propiedad de sistema
+ * o serenity.conf), después la variable de entorno {@code AUTOMATION_PROFILE} y, si tampoco está,
+ * {@code local}.
+ * <p>
+ * Los valores {@code true}/{@code false} se envían como booleanos; sólo las capabilities numéricas
+ * conocidas (tiempos {@code *Timeout}/{@code *Duration} y puertos {@code *Port}) se envían como
+ * números. El resto, como {@code platformVersion = "16"}, se envía como texto.
+ */
+public class CapabilityProfiles {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapabilityProfiles.class);
+
+    private static final String TAG_PREFIX = "@profile:";
+    private static final String DEFAULT_PROFILE = "local";
+    // Claves del bloque appium que no son capabilities o que dependen del dispositivo
+    private static final Set<String> NOT_CAPABILITIES = Set.of("hub", "app");
+    private static final Set<String> PER_DEVICE = Set.of("udid", "deviceName", "systemPort");
+    private static final Pattern INTEGER = Pattern.compile("-?\\d+");
+    private static final Pattern NUMERIC_CAPABILITY = Pattern.compile(".*(Timeout|Duration|Port)");
+
+    private static final Map<String, Map<String, Object>> profiles = load();
+    private static final String configured = Config.getString("automation.profile",
+            System.getenv().getOrDefault("AUTOMATION_PROFILE", DEFAULT_PROFILE));
+    private static final Map<String, Capabilities> built = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> selected = new ThreadLocal<>();
+
+    static {
+        requireKnown(configured);
+    }
+
+    private CapabilityProfiles() {
+    }
+
+    public static void select(Collection<String> tags) {
+        tags.stream()
+                .filter(tag -> tag.startsWith(TAG_PREFIX))
+                .map(tag -> tag.substring(TAG_PREFIX.length()))
+                .reduce((first, second) -> second)
+                .ifPresent(name -> selected.set(requireKnown(name)));
+    }
+
+    public static void clear() {
+        selected.remove();
+    }
+
+    public static String current() {
+        return selected.get() != null ? selected.get() : configured;
+    }
+
+    public static Set<String> names() {
+        return profiles.keySet();
+    }
+
+    /**
+     * Capabilities del perfil del hilo para el dispositivo; se construyen en la primera petición y
+     * después se devuelve siempre la misma instancia.
+     */
+    public static Capabilities optionsFor(Device device) {
+        String profile = current();
+        return built.computeIfAbsent(profile + "|" + device.udid(), key -> build(profile, device));
+    }
+
+    private static Capabilities build(String profile, Device device) {
+        UiAutomator2Options options = new UiAutomator2Options();
+        profiles.get(profile).forEach(options::setCapability);
+        options.setDeviceName(device.udid())
+                .setUdid(device.udid())
+                .setSystemPort(device.systemPort());
+        ServerSideSync.applySuiteSettings(options);
+        logger.info("Capabilities del perfil {} para {}: {}", profile, device.udid(), options.asMap());
+        return new ImmutableCapabilities(options);
+    }
+
+    private static String requireKnown(String name) {
+        if (!profiles.containsKey(name)) {
+            throw new IllegalArgumentException("Perfil de capabilities desconocido: " + name + ". Disponibles: " + profiles.keySet());
+        }
+        return name;
+    }
+
+    private static Map<String, Map<String, Object>> load() {
+        Map<String, String> common = new TreeMap<>(Config.getWithPrefix("appium"));
+        common.keySet().removeAll(NOT_CAPABILITIES);
+
+        Map<String, Map<String, String>> overrides = new TreeMap<>();
+        overrides.put(DEFAULT_PROFILE, Map.of());
+        Config.getWithPrefix("automation.profiles").forEach((key, value) -> {
+            int dot = key.indexOf('.');
+            if (dot > 0) {
+                overrides.computeIfAbsent(key.substring(0, dot), name -> new TreeMap<>()).put(key.substring(dot + 1), value);
+            }
+        });
+
+        Map<String, Map<String, Object>> loaded = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        overrides.forEach((name, values) -> {
+            Map<String, String> merged = new TreeMap<>(common);
+            merged.putAll(values);
+            errors.addAll(validate(name, merged));
+            Map<String, Object> capabilities = new TreeMap<>();
+            merged.forEach((key, value) -> capabilities.put(key, parse(key, value)));
+            loaded.put(name, Map.copyOf(capabilities));
+        });
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Perfiles de capabilities inválidos:\n  " + String.join("\n  ", errors));
+        }
+        logger.info("Perfiles de capabilities cargados: {}", loaded.keySet());
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    private static List<String> validate(String name, Map<String, String> capabilities) {
+        List<String> errors = new ArrayList<>();
+        if (!"Android".equalsIgnoreCase(capabilities.get("platformName"))) {
+            errors.add(name + ": platformName debe ser Android");
+        }
+        if (!"UiAutomator2".equalsIgnoreCase(capabilities.get("automationName"))) {
+            errors.add(name + ": automationName debe ser UiAutomator2");
+        }
+        capabilities.forEach((key, value) -> {
+            if (PER_DEVICE.contains(key) || NOT_CAPABILITIES.contains(key)) {
+                errors.add(name + ": " + key + " no se define en un perfil (sale de automation.devices o de AppInstaller)");
+            }
+            if ((key.endsWith("Timeout") || key.endsWith("Duration")) && !INTEGER.matcher(value).matches()) {
+                errors.add(name + ": " + key + " debe ser un número de milisegundos o segundos, no '" + value + "'");
+            }
+        });
+        return errors;
+    }
+
+    private static Object parse(String key, String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        return NUMERIC_CAPABILITY.matcher(key).matches() && INTEGER.matcher(value).matches() ? Long.parseLong(value) : value;
+    }
+}
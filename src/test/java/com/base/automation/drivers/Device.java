@@ -0,0 +1,16 @@
+package com.base.automation.drivers;
+
+/**
+ * Dispositivo de la granja: emulador o equipo físico expuesto por un servidor Appium.
+ *
+ * @param udid       identificador adb del dispositivo
+ * @param serverUrl  URL del servidor Appium que lo controla
+ * @param systemPort puerto local de UiAutomator2, único por dispositivo
+ */
+public record Device(String udid, String serverUrl, int systemPort) {
+
+    @Override
+    public String toString() {
+        return udid + "@" + serverUrl + "#" + systemPort;
+    }
+}
@@ -0,0 +1,116 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de dispositivos disponibles y arrendamiento de uno por escenario.
+ * <p>
+ * Los dispositivos se declaran en {@code automation.devices} con el formato
+ * {@code udid@url#systemPort}, separados por comas. Cada hilo de escenario toma el primer
+ * dispositivo libre de una cola compartida y lo devuelve al terminar, de modo que un escenario
+ * lento nunca deja a otro dispositivo esperando trabajo.
+ */
+public class DeviceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    private static final Duration LEASE_TIMEOUT = Config.getMillis("automation.devices.lease.timeout", Duration.ofMinutes(10));
+    private static volatile List<Device> devices = parse(Config.getString("automation.devices",
+            "emulator-5554@" + Config.getString("appium.hub", "http://127.0.0.1:4723/") + "#8200"));
+    private static final LinkedBlockingQueue<Device> available = new LinkedBlockingQueue<>(devices);
+    private static final ThreadLocal<Device> leasedDevice = new ThreadLocal<>();
+
+    private DeviceRegistry() {
+    }
+
+    public static List<Device> devices() {
+        return devices;
+    }
+
+    public static Device lease() {
+        Device device = leasedDevice.get();
+        if (device != null) {
+            return device;
+        }
+
+        try {
+            device = available.poll(LEASE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrumpido esperando un dispositivo libre", e);
+        }
+        if (device == null) {
+            throw new RuntimeException("Ningún dispositivo quedó libre en " + LEASE_TIMEOUT.toSeconds() + " s");
+        }
+
+        leasedDevice.set(device);
+        logger.info("Dispositivo {} asignado al hilo {}", device, Thread.currentThread().getName());
+        return device;
+    }
+
+    /**
+     * Dispositivo arrendado por el hilo; {@link #lease()} es la única forma de obtener uno.
+     */
+    public static Device current() {
+        Device device = leasedDevice.get();
+        if (device == null) {
+            throw new IllegalStateException("El hilo " + Thread.currentThread().getName()
+                    + " no tiene ningún dispositivo arrendado");
+        }
+        return device;
+    }
+
+    public static Optional<Device> leased() {
+        return Optional.ofNullable(leasedDevice.get());
+    }
+
+    public static void release() {
+        Device device = leasedDevice.get();
+        if (device != null) {
+            leasedDevice.remove();
+            available.offer(device);
+            logger.info("Dispositivo {} liberado", device);
+        }
+    }
+
+    /**
+     * Sustituye la granja por {@code specification}; lo usan las pruebas de reparto sobre stubs
+     * locales. No debe haber dispositivos arrendados.
+     */
+    static synchronized void useDevices(String specification) {
+        devices = parse(specification);
+        available.clear();
+        available.addAll(devices);
+    }
+
+    static List<Device> parse(String specification) {
+        List<Device> parsed = new ArrayList<>();
+        for (String entry : specification.split(",")) {
+            String spec = entry.trim();
+            if (spec.isEmpty()) {
+                continue;
+            }
+            int at = spec.indexOf('@');
+            int hash = spec.lastIndexOf('#');
+            if (at <= 0 || hash < at) {
+                throw new IllegalArgumentException("Dispositivo mal definido, se espera udid@url#systemPort: " + spec);
+            }
+            parsed.add(new Device(spec.substring(0, at), spec.substring(at + 1, hash),
+                    Integer.parseInt(spec.substring(hash + 1))));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("automation.devices no define ningún dispositivo");
+        }
+        return Collections.unmodifiableList(parsed);
+    }
+}
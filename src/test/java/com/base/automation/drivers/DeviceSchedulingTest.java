@@ -0,0 +1,121 @@
+package com.base.automation.drivers;
+
+import com.base.automation.stub.AppiumStubServer;
+import io.appium.java_client.android.AndroidDriver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reparto de escenarios sobre una granja de stubs de Appium, uno por dispositivo.
+ * <p>
+ * Cada "escenario" arrienda un dispositivo, obtiene su sesión con {@link DriverFactory} y envía unos
+ * comandos con la latencia del stub. Con un solo dispositivo los hilos esperan su turno; con varios,
+ * los escenarios se reparten entre todos y el tiempo total baja en proporción.
+ */
+class DeviceSchedulingTest {
+
+    private static final int DEVICES = 4;
+    private static final int SCENARIOS = 12;
+    private static final int COMMANDS_PER_SCENARIO = 10;
+    private static final Duration LATENCY = Duration.ofMillis(10);
+
+    private static final Logger logger = LoggerFactory.getLogger(DeviceSchedulingTest.class);
+
+    private static final List<AppiumStubServer> servers = new ArrayList<>();
+
+    @BeforeAll
+    static void startFarm() throws IOException {
+        Path apk = Files.createTempFile("stub", ".apk");
+        System.setProperty("automation.app.path", apk.toString());
+        for (int i = 0; i < DEVICES; i++) {
+            servers.add(new AppiumStubServer(0, LATENCY).start());
+        }
+    }
+
+    @AfterAll
+    static void stopFarm() {
+        DriverPool.shutdown();
+        servers.forEach(AppiumStubServer::close);
+    }
+
+    @Test
+    void spreadsScenariosAcrossDevicesAndScalesThroughput() throws Exception {
+        DeviceRegistry.useDevices(farm(1));
+        Map<String, AtomicInteger> serial = new ConcurrentHashMap<>();
+        long oneDevice = runScenarios(serial);
+
+        DeviceRegistry.useDevices(farm(DEVICES));
+        Map<String, AtomicInteger> parallel = new ConcurrentHashMap<>();
+        long allDevices = runScenarios(parallel);
+
+        assertThat(serial).containsOnlyKeys("stub-0");
+        assertThat(parallel).hasSize(DEVICES);
+        assertThat(parallel.values()).allSatisfy(count -> assertThat(count.get()).isPositive());
+        // Cada escenario habló con el servidor del dispositivo que arrendó
+        assertThat(servers).allSatisfy(server ->
+                assertThat(server.commandCount("GET /session/{id}/source")).isPositive());
+
+        double speedup = (double) oneDevice / allDevices;
+        logger.info("{} escenarios: {} ms con 1 dispositivo, {} ms con {} (x{}), reparto {}", SCENARIOS, oneDevice,
+                allDevices, DEVICES, String.format("%.1f", speedup), parallel);
+        assertThat(speedup)
+                .as("aceleración con %d dispositivos", DEVICES)
+                .isGreaterThan(DEVICES / 2.0);
+    }
+
+    // Tantos hilos como dispositivos tiene la granja completa, igual que DeviceParallelism
+    private static long runScenarios(Map<String, AtomicInteger> scenariosPerDevice) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(DEVICES);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> scenarios = new ArrayList<>();
+            for (int i = 0; i < SCENARIOS; i++) {
+                scenarios.add(threads.submit(() -> {
+                    Device device = DeviceRegistry.lease();
+                    try {
+                        AndroidDriver driver = DriverFactory.createDriver();
+                        for (int command = 0; command < COMMANDS_PER_SCENARIO; command++) {
+                            driver.getPageSource();
+                        }
+                        DriverFactory.releaseDriver(driver);
+                        scenariosPerDevice.computeIfAbsent(device.udid(), k -> new AtomicInteger()).incrementAndGet();
+                    } finally {
+                        DeviceRegistry.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> scenario : scenarios) {
+                scenario.get();
+            }
+        } finally {
+            threads.shutdown();
+        }
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private static String farm(int size) {
+        return servers.subList(0, size).stream()
+                .map(server -> "stub-" + servers.indexOf(server) + "@" + server.url() + "#" + (8200 + servers.indexOf(server)))
+                .collect(Collectors.joining(","));
+    }
+}
@@ -1,38 +1,90 @@
 package com.base.automation.drivers;
 
+import com.base.automation.utils.Config;
 import io.appium.java_client.android.AndroidDriver;
-import io.appium.java_client.android.options.UiAutomator2Options;
+import org.openqa.selenium.Capabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DriverFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
-    private static final String APPIUM_SERVER_URL = "http://127.0.0.1:4723/";
+    public static final String APP_PACKAGE = "com.swaglabsmobileapp";
+    public static final Duration IMPLICIT_WAIT = Duration.ofSeconds(10);
+    private static final boolean COMMAND_METRICS = Config.getBoolean("automation.metrics.commands", true);
+
+    private static final AtomicInteger startups = new AtomicInteger();
+    private static final AtomicLong totalStartupMillis = new AtomicLong();
+    private static final AtomicLong maxStartupMillis = new AtomicLong();
 
     public static AndroidDriver createDriver() throws MalformedURLException {
-        logger.info("Creando nuevo AndroidDriver...");
+        long start = System.currentTimeMillis();
+        Device device = DeviceRegistry.current();
+        Capabilities options = CapabilityProfiles.optionsFor(device);
+
+        URL serverUrl = new URL(device.serverUrl());
+        AndroidDriver driver = DriverPool.checkout(device.udid(), poolKey(serverUrl, options),
+                () -> newDriver(serverUrl, options));
+        AppReset.prepare(driver);
+
+        long elapsed = System.currentTimeMillis() - start;
+        startups.incrementAndGet();
+        totalStartupMillis.addAndGet(elapsed);
+        maxStartupMillis.accumulateAndGet(elapsed, Math::max);
+        logger.info("Sesión lista para el escenario en {} ms", elapsed);
+        return driver;
+    }
+
+    /**
+     * Tiempo desde que un escenario pide su sesión hasta que la app queda preparada (checkout del
+     * pool + reset), acumulado en toda la ejecución.
+     */
+    public static String report() {
+        int count = startups.get();
+        long average = count == 0 ? 0 : totalStartupMillis.get() / count;
+        return String.format("Arranque de sesión por escenario: %d escenarios, promedio=%d ms, máximo=%d ms, total=%d ms",
+                count, average, maxStartupMillis.get(), totalStartupMillis.get());
+    }
 
-        UiAutomator2Options options = new UiAutomator2Options()
-                .setDeviceName("emulator-5554")
-                .setPlatformName("Android")
-                .setApp(Paths.get("src/test/resources/apk/SauceLabs.apk").toAbsolutePath().toString())
-                .setAutomationName("UiAutomator2")
-                .setAppWaitActivity("*")
-                .setNoReset(false)
-                .setFullReset(true)
-                .setAutoGrantPermissions(true)
-                .setNewCommandTimeout(Duration.ofSeconds(300))
-                .setAppWaitDuration(Duration.ofSeconds(30));
+    /**
+     * Crea en segundo plano la sesión del dispositivo (e instala el APK si hace falta) para que el
+     * próximo escenario que lo use la encuentre lista; sin efecto si el precalentado está desactivado.
+     */
+    public static void prewarm(Device device) {
+        Capabilities options = CapabilityProfiles.optionsFor(device);
+        URL serverUrl;
+        try {
+            serverUrl = new URL(device.serverUrl());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("URL de servidor inválida para " + device.udid(), e);
+        }
+        DriverPool.prewarm(device.udid(), poolKey(serverUrl, options), () -> {
+            AndroidDriver driver = newDriver(serverUrl, options);
+            AppInstaller.ensureInstalled(driver, device);
+            return driver;
+        });
+    }
+
+    public static void releaseDriver(AndroidDriver driver) {
+        DriverPool.release(driver);
+    }
 
-        AndroidDriver driver = new AndroidDriver(new URL(APPIUM_SERVER_URL), options);
+    private static AndroidDriver newDriver(URL serverUrl, Capabilities options) {
+        logger.info("Creando nuevo AndroidDriver...");
+
+        AndroidDriver driver = COMMAND_METRICS
+                ? new AndroidDriver(new InstrumentedCommandExecutor(serverUrl), options)
+                : new AndroidDriver(serverUrl, options);
 
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
 
         logger.info("AndroidDriver creado exitosamente para dispositivo: {}",
                 driver.getCapabilities().getCapability("deviceName"));
@@ -40,14 +92,21 @@ public class DriverFactory {
         return driver;
     }
 
+    private static String poolKey(URL serverUrl, Capabilities options) {
+        Map<String, Object> capabilities = new TreeMap<>(options.asMap());
+        return serverUrl + "|" + capabilities;
+    }
 
-    public static void closeDriver(AndroidDriver driver) {
+    /**
+     * Termina la app y cierra la sesión; devuelve {@code true} sólo si el {@code quit} se confirmó.
+     */
+    public static boolean closeDriver(AndroidDriver driver) {
         if (driver != null) {
             try {
                 logger.info("Iniciando cierre del driver y aplicación...");
 
                 try {
-                    driver.terminateApp("com.swaglabsmobileapp");
+                    driver.terminateApp(APP_PACKAGE);
                     logger.info("Aplicación terminada exitosamente");
                 } catch (Exception e) {
                     logger.warn("No se pudo terminar la app específica: {}", e.getMessage());
@@ -55,15 +114,22 @@ public class DriverFactory {
 
                 driver.quit();
                 logger.info("Driver cerrado exitosamente");
+                return true;
 
             } catch (Exception e) {
                 logger.error("Error al cerrar driver: {}. Intentando quit forzado...", e.getMessage());
+                if (driver.getSessionId() == null) {
+                    // quit() ya descartó la sesión aunque falló: repetirlo no confirmaría nada
+                    return false;
+                }
                 try {
                     driver.quit();
+                    return true;
                 } catch (Exception quitException) {
                     logger.error("Error en quit forzado: {}", quitException.getMessage());
                 }
             }
         }
+        return false;
     }
-}
\ No newline at end of file
+}
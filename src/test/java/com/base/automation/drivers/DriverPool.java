@@ -0,0 +1,312 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool de sesiones AndroidDriver agrupadas por capabilities.
+ * <p>
+ * En lugar de crear una sesión en cada escenario, las sesiones se devuelven al pool al terminar y
+ * se reutilizan en el siguiente escenario que pida las mismas capabilities; el estado de la app lo
+ * prepara después {@link AppReset} según la estrategia del escenario. Las sesiones que no
+ * responden o que superan el número máximo de usos se descartan.
+ * <p>
+ * Con {@code automation.pool.prewarm.depth} mayor que cero, las sesiones de dispositivos que aún no
+ * tienen una pueden crearse en segundo plano mientras corren otros escenarios; el checkout en ese
+ * dispositivo espera a la sesión en curso en lugar de crear otra, y si se precalentó con otras
+ * capabilities la cierra antes de abrir la suya. El estado ocupado y el precalentado se llevan por
+ * udid, no por capabilities: en un dispositivo nunca se precalienta mientras un escenario lo usa,
+ * sea cual sea su perfil. Por la misma razón, un escenario que pide capabilities sin sesión libre
+ * cierra antes las sesiones libres de otras capabilities en su dispositivo. La profundidad limita cuántas sesiones precalentadas pueden estar
+ * pendientes de usar a la vez.
+ * <p>
+ * Mientras el {@link DriverReaper} cierra una sesión descartada de un dispositivo, no se crea otra
+ * en él: UiAutomator2 usa el mismo udid y {@code systemPort}, y una sesión nueva que arranca
+ * mientras se borra la anterior puede caer con ella. El precalentado se encadena al cierre y el
+ * checkout lo espera.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final boolean ENABLED = Config.getBoolean("automation.pool.enabled", true);
+    private static final int MAX_IDLE_PER_KEY = Config.getInt("automation.pool.max.idle", 1);
+    private static final int MAX_USES = Config.getInt("automation.pool.max.uses", 25);
+    private static final int PREWARM_DEPTH = Config.getInt("automation.pool.prewarm.depth", 0);
+
+    private static final Map<String, Deque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<AndroidDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    // Por udid: sesión precalentada pendiente de usar y las capabilities con que se pidió
+    private static final Map<String, Warming> warming = new ConcurrentHashMap<>();
+    // Dispositivos con un escenario en checkout o en curso: no se precalientan
+    private static final Set<String> busyDevices = ConcurrentHashMap.newKeySet();
+    // Por udid: cierres en curso en el DriverReaper
+    private static final Map<String, CompletableFuture<Void>> closing = new ConcurrentHashMap<>();
+    private static final ExecutorService prewarmExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+    private static final AtomicInteger evictions = new AtomicInteger();
+    private static final AtomicInteger prewarmed = new AtomicInteger();
+    private static final AtomicInteger prewarmHits = new AtomicInteger();
+    private static final AtomicLong totalCheckoutMillis = new AtomicLong();
+    private static final AtomicLong maxCheckoutMillis = new AtomicLong();
+    private static final AtomicInteger closeWaits = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    public static AndroidDriver checkout(String udid, String key, Supplier<AndroidDriver> sessionFactory) {
+        long start = System.currentTimeMillis();
+        PooledSession session = null;
+        Warming warm;
+        synchronized (warming) {
+            busyDevices.add(udid);
+            warm = warming.remove(udid);
+        }
+        if (warm != null && !warm.key().equals(key)) {
+            discard(warm, "precalentada con otras capabilities");
+            warm = null;
+        }
+
+        if (ENABLED) {
+            Deque<PooledSession> sessions = idleSessions.get(key);
+            while (sessions != null && (session = sessions.pollFirst()) != null) {
+                if (prepareForScenario(session)) {
+                    break;
+                }
+                evict(session, "no respondió al health check");
+                session = null;
+            }
+        }
+
+        String origin = session != null ? "hit" : "miss";
+        if (session == null && warm != null) {
+            session = awaitPrewarmed(warm.session());
+            origin = session != null ? "precalentada" : origin;
+        } else if (warm != null) {
+            discard(warm, "precalentada sin uso");
+        }
+
+        if (session != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            try {
+                evictIdle(udid);
+                awaitClosing(udid);
+                session = new PooledSession(key, udid, sessionFactory.get());
+            } catch (RuntimeException e) {
+                busyDevices.remove(udid);
+                throw e;
+            }
+        }
+
+        session.uses++;
+        leasedSessions.put(session.driver, session);
+
+        long elapsed = System.currentTimeMillis() - start;
+        totalCheckoutMillis.addAndGet(elapsed);
+        maxCheckoutMillis.accumulateAndGet(elapsed, Math::max);
+        logger.info("Sesión {} obtenida del pool ({}) en {} ms, uso #{}",
+                session.driver.getSessionId(), origin, elapsed, session.uses);
+
+        return session.driver;
+    }
+
+    public static void release(AndroidDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session != null) {
+            busyDevices.remove(session.udid);
+        }
+
+        if (session == null) {
+            DriverReaper.submit(driver, "sesión ajena al pool");
+            return;
+        }
+        if (!ENABLED) {
+            reap(session, "pool deshabilitado");
+            return;
+        }
+
+        if (session.uses >= MAX_USES) {
+            evict(session, "alcanzó " + MAX_USES + " usos");
+            return;
+        }
+
+        Deque<PooledSession> sessions = idleSessions.computeIfAbsent(session.key, k -> new ConcurrentLinkedDeque<>());
+        if (sessions.size() >= MAX_IDLE_PER_KEY) {
+            evict(session, "pool lleno para sus capabilities");
+            return;
+        }
+        sessions.offerFirst(session);
+        logger.info("Sesión {} devuelta al pool", driver.getSessionId());
+    }
+
+    /**
+     * Lanza en segundo plano la creación de una sesión en el dispositivo si no tiene ninguna libre ni
+     * otra en precalentado, no hay un escenario usándolo y no se ha alcanzado la profundidad de
+     * precalentado.
+     */
+    public static void prewarm(String udid, String key, Supplier<AndroidDriver> sessionFactory) {
+        if (PREWARM_DEPTH <= 0) {
+            return;
+        }
+        synchronized (warming) {
+            if (busyDevices.contains(udid) || warming.containsKey(udid) || warming.size() >= PREWARM_DEPTH
+                    || hasIdleSession(udid)) {
+                return;
+            }
+            prewarmed.incrementAndGet();
+            CompletableFuture<Void> closed = closing.getOrDefault(udid, CompletableFuture.completedFuture(null));
+            warming.put(udid, new Warming(key, closed.thenApplyAsync(
+                    ignored -> new PooledSession(key, udid, sessionFactory.get()), prewarmExecutor)));
+        }
+    }
+
+    // Sesiones libres del dispositivo con otras capabilities: se cierran antes de abrir otra en el mismo udid
+    private static void evictIdle(String udid) {
+        idleSessions.values().forEach(sessions -> sessions.removeIf(session -> {
+            if (!session.udid.equals(udid)) {
+                return false;
+            }
+            evict(session, "el dispositivo pasa a otras capabilities");
+            return true;
+        }));
+    }
+
+    private static boolean hasIdleSession(String udid) {
+        return idleSessions.values().stream()
+                .flatMap(Deque::stream)
+                .anyMatch(session -> session.udid.equals(udid));
+    }
+
+    // Espera a que termine de crearse y la manda cerrar; así el cierre queda registrado antes del checkout
+    private static void discard(Warming warm, String reason) {
+        try {
+            evict(warm.session().join(), reason);
+        } catch (CompletionException | CancellationException e) {
+            logger.warn("Falló la sesión precalentada que se iba a descartar: {}", e.getMessage());
+        }
+    }
+
+    public static String report() {
+        int checkouts = hits.get() + misses.get();
+        long average = checkouts == 0 ? 0 : totalCheckoutMillis.get() / checkouts;
+        return String.format("Pool de sesiones: hits=%d (precalentadas %d de %d), misses=%d, descartadas=%d, "
+                        + "esperas a un cierre=%d, checkout promedio=%d ms, máximo=%d ms",
+                hits.get(), prewarmHits.get(), prewarmed.get(), misses.get(), evictions.get(), closeWaits.get(),
+                average, maxCheckoutMillis.get());
+    }
+
+    private static PooledSession awaitPrewarmed(CompletableFuture<PooledSession> warm) {
+        try {
+            PooledSession session = warm.join();
+            prewarmHits.incrementAndGet();
+            return session;
+        } catch (CompletionException | CancellationException e) {
+            logger.warn("Falló la sesión precalentada, se crea una nueva: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean prepareForScenario(PooledSession session) {
+        try {
+            if (session.driver.getSessionId() == null) {
+                return false;
+            }
+            session.driver.queryAppState(DriverFactory.APP_PACKAGE);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Health check fallido para la sesión {}: {}", session.driver.getSessionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static void evict(PooledSession session, String reason) {
+        evictions.incrementAndGet();
+        reap(session, reason);
+    }
+
+    private static void reap(PooledSession session, String reason) {
+        CompletableFuture<Void> closed = DriverReaper.submit(session.driver, reason);
+        CompletableFuture<Void> all = closing.merge(session.udid, closed, CompletableFuture::allOf);
+        all.whenComplete((ignored, error) -> closing.remove(session.udid, all));
+    }
+
+    // Una sesión nueva no arranca en el dispositivo hasta que el reaper termine de cerrar la anterior
+    private static void awaitClosing(String udid) {
+        CompletableFuture<Void> closed = closing.get(udid);
+        if (closed != null && !closed.isDone()) {
+            closeWaits.incrementAndGet();
+            logger.info("Esperando a que termine el cierre de la sesión anterior en {}", udid);
+            closed.join();
+        }
+    }
+
+    /**
+     * Cierra todas las sesiones del pool; se ejecuta al salir la JVM.
+     */
+    static void shutdown() {
+        warming.values().forEach(warm -> {
+            try {
+                DriverFactory.closeDriver(warm.session().get(1, TimeUnit.MINUTES).driver);
+            } catch (Exception e) {
+                logger.warn("Sesión precalentada no disponible al salir: {}", e.getMessage());
+            }
+        });
+        idleSessions.values().forEach(sessions -> {
+            PooledSession session;
+            while ((session = sessions.pollFirst()) != null) {
+                DriverFactory.closeDriver(session.driver);
+            }
+        });
+        // Sesiones de escenarios que no llegaron a su tearDown
+        leasedSessions.keySet().forEach(driver -> {
+            logger.warn("La sesión {} no se devolvió al pool, se cierra al salir", driver.getSessionId());
+            DriverFactory.closeDriver(driver);
+        });
+        logger.info(report());
+    }
+
+    private record Warming(String key, CompletableFuture<PooledSession> session) {
+    }
+
+    private static class PooledSession {
+        private final String key;
+        private final String udid;
+        private final AndroidDriver driver;
+        private int uses;
+
+        private PooledSession(String key, String udid, AndroidDriver driver) {
+            this.key = key;
+            this.udid = udid;
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.SessionId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cierra sesiones en segundo plano para que el escenario siguiente no espere al
+ * {@code terminateApp} + {@code quit} del anterior.
+ * <p>
+ * Los cierres se ejecutan con concurrencia acotada ({@code automation.teardown.concurrency}); el que
+ * supera {@code automation.teardown.timeout} desde que empezó a ejecutarse se interrumpe y se cuenta
+ * como forzado. Sólo cuenta como cerrada una sesión cuyo {@code quit} se confirmó; las demás se
+ * guardan y, al salir la JVM, se cuentan como fugadas junto con los cierres aún pendientes tras un
+ * último {@code quit} síncrono.
+ */
+public class DriverReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverReaper.class);
+
+    private static final int CONCURRENCY = Config.getInt("automation.teardown.concurrency", 2);
+    private static final Duration TIMEOUT = Config.getMillis("automation.teardown.timeout", Duration.ofSeconds(30));
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(CONCURRENCY, CONCURRENCY,
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreads("driver-reaper"));
+    private static final ScheduledExecutorService watchdog =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("driver-reaper-watchdog"));
+    private static final Map<AndroidDriver, SessionId> pending = new ConcurrentHashMap<>();
+    // Cierres forzados o fallidos: la sesión puede seguir abierta en el servidor
+    private static final Map<AndroidDriver, SessionId> unconfirmed = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger closed = new AtomicInteger();
+    private static final AtomicInteger forced = new AtomicInteger();
+    private static final AtomicInteger leaked = new AtomicInteger();
+    private static final AtomicLong overlapMillis = new AtomicLong();
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverReaper::shutdown, "driver-reaper-shutdown"));
+    }
+
+    private DriverReaper() {
+    }
+
+    /**
+     * Encola el cierre de la sesión; el futuro se completa cuando el cierre termina, confirmado o no.
+     */
+    public static CompletableFuture<Void> submit(AndroidDriver driver, String reason) {
+        logger.info("Cierre de la sesión {} en segundo plano: {}", driver.getSessionId(), reason);
+        pending.put(driver, driver.getSessionId());
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            executor.execute(() -> close(driver, done));
+        } catch (RejectedExecutionException e) {
+            // La JVM ya se está cerrando: no queda hilo al que delegar
+            close(driver, done);
+        }
+        return done;
+    }
+
+    public static String report() {
+        return String.format("Cierre de sesiones: %d en segundo plano, %d ms solapados con otros escenarios, "
+                        + "%d forzados, %d sin confirmar, %d fugados, %d pendientes",
+                closed.get(), overlapMillis.get(), forced.get(), unconfirmed.size(), leaked.get(), pending.size());
+    }
+
+    private static void close(AndroidDriver driver, CompletableFuture<Void> done) {
+        long start = System.nanoTime();
+        // El plazo cuenta desde que el cierre empieza, no desde que se encoló tras otros
+        Thread worker = Thread.currentThread();
+        boolean[] state = new boolean[2]; // terminado, interrumpido
+        ScheduledFuture<?> timeout = null;
+        try {
+            timeout = watchdog.schedule(() -> {
+                synchronized (state) {
+                    if (!state[0]) {
+                        forced.incrementAndGet();
+                        logger.warn("El cierre de la sesión {} superó {} ms, se interrumpe",
+                                driver.getSessionId(), TIMEOUT.toMillis());
+                        state[1] = true;
+                        worker.interrupt();
+                    }
+                }
+            }, TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Cierre síncrono al salir la JVM: sin vigilante
+        }
+
+        boolean quit = false;
+        try {
+            quit = DriverFactory.closeDriver(driver);
+        } finally {
+            synchronized (state) {
+                state[0] = true;
+                if (state[1]) {
+                    // La interrupción del watchdog no debe alcanzar al siguiente cierre de este hilo
+                    Thread.interrupted();
+                }
+            }
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+
+            if (quit) {
+                closed.incrementAndGet();
+            } else {
+                unconfirmed.put(driver, pending.get(driver));
+            }
+            overlapMillis.addAndGet(Duration.ofNanos(System.nanoTime() - start).toMillis());
+            pending.remove(driver);
+            done.complete(null);
+        }
+    }
+
+    private static void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        watchdog.shutdownNow();
+
+        Map<AndroidDriver, SessionId> open = new HashMap<>(unconfirmed);
+        open.putAll(pending);
+        unconfirmed.clear();
+        open.forEach((driver, sessionId) -> {
+            leaked.incrementAndGet();
+            logger.warn("La sesión {} seguía abierta al salir, quit síncrono", sessionId);
+            try {
+                // Tras un quit fallido el driver ya olvidó su sesión: se borra por id
+                driver.getCommandExecutor().execute(new Command(sessionId, DriverCommand.QUIT));
+            } catch (Exception e) {
+                logger.error("No se pudo cerrar la sesión {}: {}", sessionId, e.getMessage());
+            }
+        });
+        logger.info(report());
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.base.automation.drivers;
+
+import com.base.automation.evidence.ScreenRecorder;
+import com.base.automation.utils.CommandMetrics;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * Ejecutor de comandos de Appium que mide cada petición y la registra en {@link CommandMetrics}.
+ * <p>
+ * Se instala bajo el {@code AndroidDriver} en lugar de envolverlo, así el driver sigue siendo un
+ * {@code AndroidDriver} para el pool, los hooks y las interacciones que lo convierten.
+ */
+public class InstrumentedCommandExecutor extends AppiumCommandExecutor {
+
+    public InstrumentedCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl);
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = super.execute(command);
+            failed = response != null && response.getState() != null && !"success".equals(response.getState());
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            CommandMetrics.record(nameOf(command), elapsed, failed);
+            ScreenRecorder.commandCompleted(elapsed);
+        }
+    }
+
+    // Los comandos "mobile: ..." viajan todos como executeScript; se separan por script
+    private static String nameOf(Command command) {
+        Object script = command.getParameters().get("script");
+        return script instanceof String name && name.startsWith("mobile:")
+                ? command.getName() + " " + name
+                : command.getName();
+    }
+}
@@ -0,0 +1,94 @@
+package com.base.automation.drivers;
+
+import com.base.automation.utils.Config;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.appmanagement.ApplicationState;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Cómo dejar la app lista al empezar un escenario, de la más barata a la más cara.
+ * <p>
+ * Se elige por escenario con los tags {@code @reset:none}, {@code @reset:terminate},
+ * {@code @reset:clear} o {@code @reset:reinstall} (también a nivel de feature); sin tag se usa
+ * {@code automation.reset.strategy}.
+ */
+public enum ResetStrategy {
+
+    /**
+     * Conserva el estado del escenario anterior; sólo trae la app al frente.
+     */
+    NONE("none") {
+        @Override
+        void apply(AndroidDriver driver) {
+            if (driver.queryAppState(DriverFactory.APP_PACKAGE) != ApplicationState.RUNNING_IN_FOREGROUND) {
+                driver.activateApp(DriverFactory.APP_PACKAGE);
+            }
+        }
+    },
+
+    /**
+     * Reinicia el proceso conservando los datos de la app.
+     */
+    TERMINATE_ACTIVATE("terminate") {
+        @Override
+        void apply(AndroidDriver driver) {
+            driver.terminateApp(DriverFactory.APP_PACKAGE);
+            driver.activateApp(DriverFactory.APP_PACKAGE);
+        }
+    },
+
+    /**
+     * Borra los datos de la app ({@code pm clear}) y la arranca de nuevo.
+     */
+    CLEAR_DATA("clear") {
+        @Override
+        void apply(AndroidDriver driver) {
+            driver.executeScript("mobile: clearApp", Map.of("appId", DriverFactory.APP_PACKAGE));
+            driver.activateApp(DriverFactory.APP_PACKAGE);
+        }
+    },
+
+    /**
+     * Desinstala e instala el APK, como hacía {@code fullReset=true}.
+     */
+    REINSTALL("reinstall") {
+        @Override
+        void apply(AndroidDriver driver) {
+            AppInstaller.reinstall(driver);
+            driver.activateApp(DriverFactory.APP_PACKAGE);
+        }
+    };
+
+    private static final String TAG_PREFIX = "@reset:";
+
+    private final String tag;
+
+    ResetStrategy(String tag) {
+        this.tag = tag;
+    }
+
+    abstract void apply(AndroidDriver driver);
+
+    public static ResetStrategy fromTags(Collection<String> tags) {
+        return tags.stream()
+                .filter(tag -> tag.startsWith(TAG_PREFIX))
+                .map(tag -> named(tag.substring(TAG_PREFIX.length())))
+                .reduce((first, second) -> second)
+                .orElseGet(ResetStrategy::configured);
+    }
+
+    public static ResetStrategy configured() {
+        return named(Config.getString("automation.reset.strategy", CLEAR_DATA.tag));
+    }
+
+    private static ResetStrategy named(String name) {
+        return Arrays.stream(values())
+                .filter(strategy -> strategy.tag.equalsIgnoreCase(name) || strategy.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Estrategia de reset desconocida: " + name
+                        + ". Valores válidos: none, terminate, clear, reinstall"));
+    }
+}
@@ -0,0 +1,273 @@
+package com.base.automation.evidence;
+
+import com.base.automation.utils.Config;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Capturas de pantalla por paso escritas a disco fuera del hilo del escenario.
+ * <p>
+ * El hilo del escenario sólo pide la captura al dispositivo (para que la imagen corresponda al paso)
+ * y la deja en una cola acotada de {@code automation.evidence.queue} elementos; si la cola está
+ * llena espera a que haya hueco, de modo que la memoria retenida no crece con el número de
+ * capturas. Un único hilo escritor decodifica cada captura, la descarta si es casi idéntica a la
+ * anterior del mismo escenario (hash perceptual de diferencias de 64 bits; las capturas de un paso
+ * fallido, con etiqueta terminada en {@code -fallo}, se guardan siempre), la reduce a
+ * {@code automation.evidence.max.width} píxeles de ancho y la guarda como JPEG. Si el escenario
+ * supera {@code automation.evidence.budget.kb}, la captura se recomprime a la mitad de calidad y,
+ * si aun así no cabe, se descarta; las de un paso fallido se guardan igualmente, recomprimidas, y
+ * se cuentan aparte.
+ */
+public class EvidencePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvidencePipeline.class);
+
+    private static final boolean ENABLED = Config.getBoolean("automation.evidence.enabled", false);
+    private static final Path DIRECTORY = Paths.get(Config.getString("automation.evidence.dir", "target/evidence"));
+    private static final int QUEUE_CAPACITY = Config.getInt("automation.evidence.queue", 4);
+    private static final int MAX_WIDTH = Config.getInt("automation.evidence.max.width", 540);
+    private static final float QUALITY = Config.getInt("automation.evidence.quality", 70) / 100f;
+    private static final long BUDGET_BYTES = Config.getInt("automation.evidence.budget.kb", 2048) * 1024L;
+    private static final int DEDUPE_DISTANCE = Config.getInt("automation.evidence.dedupe.distance", 3);
+    private static final String FAILURE_SUFFIX = "-fallo";
+
+    private static final AtomicInteger captured = new AtomicInteger();
+    private static final AtomicInteger written = new AtomicInteger();
+    private static final AtomicInteger duplicates = new AtomicInteger();
+    private static final AtomicInteger overBudget = new AtomicInteger();
+    private static final AtomicInteger failureFrames = new AtomicInteger();
+    private static final AtomicInteger failureFramesOverBudget = new AtomicInteger();
+    private static final AtomicInteger failed = new AtomicInteger();
+    private static final AtomicInteger queueFullWaits = new AtomicInteger();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong scenarioThreadNanos = new AtomicLong();
+
+    // Cola llena: el escenario espera a que el escritor libere hueco en lugar de acumular capturas
+    private static final RejectedExecutionHandler waitForSpace = (task, pool) -> {
+        if (pool.isShutdown()) {
+            return;
+        }
+        queueFullWaits.incrementAndGet();
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "evidence-writer");
+                thread.setDaemon(true);
+                return thread;
+            }, waitForSpace);
+
+    // Estado por escenario; sólo lo toca el hilo escritor
+    private static final Map<String, ScenarioEvidence> scenarios = new HashMap<>();
+
+    private EvidencePipeline() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Pide la captura al dispositivo y la encola para el escritor; {@code scenario} da nombre a la
+     * carpeta de evidencias y {@code label} al fichero.
+     */
+    public static void capture(WebDriver driver, String scenario, String label) {
+        if (!ENABLED || writer.isShutdown() || !(driver instanceof TakesScreenshot camera)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            String screenshot = camera.getScreenshotAs(OutputType.BASE64);
+            captured.incrementAndGet();
+            String folder = slug(scenario);
+            writer.execute(() -> write(folder, slug(label), screenshot));
+        } catch (WebDriverException e) {
+            failed.incrementAndGet();
+            logger.warn("No se pudo capturar la pantalla para {}: {}", scenario, e.getMessage());
+        } finally {
+            scenarioThreadNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Libera el estado del escenario cuando el escritor termine con sus capturas.
+     */
+    public static void finish(String scenario) {
+        if (ENABLED && !writer.isShutdown()) {
+            String folder = slug(scenario);
+            writer.execute(() -> scenarios.remove(folder));
+        }
+    }
+
+    /**
+     * Espera a que se escriban las capturas pendientes; después no se aceptan más.
+     */
+    public static void drain(Duration timeout) {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Quedaron {} capturas sin escribir", writer.getQueue().size());
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static String report() {
+        if (!ENABLED) {
+            return "Evidencias: desactivadas";
+        }
+        long average = captured.get() == 0 ? 0 : scenarioThreadNanos.get() / captured.get() / 1_000_000;
+        return String.format("Evidencias: %d capturas (%d ms de media en el hilo del escenario), %d escritas (%d KB), "
+                        + "%d de pasos fallidos (%d por encima del presupuesto), %d duplicadas, %d fuera de presupuesto, "
+                        + "%d esperas por cola llena, %d fallidas",
+                captured.get(), average, written.get(), bytesWritten.get() / 1024, failureFrames.get(),
+                failureFramesOverBudget.get(), duplicates.get(), overBudget.get(), queueFullWaits.get(), failed.get());
+    }
+
+    private static void write(String folder, String label, String screenshot) {
+        try {
+            BufferedImage image;
+            // MIME: algunos servidores parten el base64 de la captura en líneas
+            try (InputStream in = Base64.getMimeDecoder().wrap(
+                    new ByteArrayInputStream(screenshot.getBytes(StandardCharsets.ISO_8859_1)))) {
+                image = ImageIO.read(in);
+            }
+            if (image == null) {
+                failed.incrementAndGet();
+                return;
+            }
+
+            ScenarioEvidence evidence = scenarios.computeIfAbsent(folder, k -> new ScenarioEvidence());
+            long hash = differenceHash(image);
+            boolean failure = label.endsWith(FAILURE_SUFFIX);
+            if (!failure && evidence.frames > 0 && Long.bitCount(hash ^ evidence.lastHash) <= DEDUPE_DISTANCE) {
+                duplicates.incrementAndGet();
+                return;
+            }
+
+            BufferedImage scaled = downscale(image);
+            Path file = DIRECTORY.resolve(folder).resolve(String.format("%03d-%s.jpg", evidence.frames + 1, label));
+            Files.createDirectories(file.getParent());
+            long size = writeJpeg(scaled, file, QUALITY);
+            if (evidence.bytes + size > BUDGET_BYTES) {
+                size = writeJpeg(scaled, file, QUALITY / 2);
+            }
+            if (evidence.bytes + size > BUDGET_BYTES) {
+                if (!failure) {
+                    Files.deleteIfExists(file);
+                    overBudget.incrementAndGet();
+                    return;
+                }
+                // La captura del fallo es la que más vale: se guarda aunque el escenario se pase del presupuesto
+                failureFramesOverBudget.incrementAndGet();
+            }
+            if (failure) {
+                failureFrames.incrementAndGet();
+            }
+
+            evidence.frames++;
+            evidence.bytes += size;
+            evidence.lastHash = hash;
+            written.incrementAndGet();
+            bytesWritten.addAndGet(size);
+        } catch (IOException | RuntimeException e) {
+            // Base64 o imagen corrupta: se cuenta como fallida en lugar de perder la tarea del escritor
+            failed.incrementAndGet();
+            logger.warn("No se pudo guardar la evidencia {}/{}: {}", folder, label, e.getMessage());
+        }
+    }
+
+    // Escribe directamente al fichero, sin pasar la imagen codificada por memoria
+    private static long writeJpeg(BufferedImage image, Path file, float quality) throws IOException {
+        ImageWriter jpeg = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = jpeg.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        Files.deleteIfExists(file);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            jpeg.setOutput(out);
+            jpeg.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            jpeg.dispose();
+        }
+        return Files.size(file);
+    }
+
+    private static BufferedImage downscale(BufferedImage image) {
+        int width = Math.min(MAX_WIDTH, image.getWidth());
+        int height = Math.max(1, image.getHeight() * width / image.getWidth());
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    // dHash: luminancia en 9x8 y un bit por cada par de píxeles vecinos de la misma fila
+    private static long differenceHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = small.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, 9, 8, null);
+        graphics.dispose();
+
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    static String slug(String value) {
+        return value.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+
+    private static class ScenarioEvidence {
+        private int frames;
+        private long bytes;
+        private long lastHash;
+    }
+}
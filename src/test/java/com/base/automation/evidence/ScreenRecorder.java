@@ -0,0 +1,255 @@
+package com.base.automation.evidence;
+
+import com.base.automation.utils.Config;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.AndroidStartScreenRecordingOptions;
+import io.appium.java_client.android.AndroidStopScreenRecordingOptions;
+import io.appium.java_client.screenrecording.ScreenRecordingUploadOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grabación de pantalla por escenario que sólo se conserva si el escenario falla.
+ * <p>
+ * La grabación se arranca en segundo plano en cuanto el escenario tiene sesión, con reinicio forzado
+ * por si quedara otra en marcha en la misma sesión del pool. Las tareas de cada sesión se encadenan
+ * en orden y las de sesiones distintas corren en paralelo, así el arranque en un dispositivo no
+ * espera al de otro. El hilo del escenario no espera la respuesta, pero Appium atiende los comandos
+ * de una sesión de uno en uno y el primer comando del escenario puede esperar al arranque. Por eso el
+ * resumen compara la latencia del primer comando tras asignar la sesión en escenarios con y sin
+ * grabación; con {@code automation.recording.baseline.every} = N, una de cada N sesiones no se graba
+ * y sirve de referencia en la misma ejecución (hace falta {@code automation.metrics.commands}).
+ * <p>
+ * Un escenario que pasa detiene la grabación en segundo plano y descarta el vídeo, para que
+ * {@code screenrecord} no siga cargando el dispositivo en los escenarios siguientes. En un escenario
+ * fallido se detiene pidiendo a Appium que suba el vídeo a un receptor HTTP local, que lo copia a
+ * disco según llega; ese vídeo no pasa nunca por un String en base64 dentro de la JVM. Con un
+ * servidor Appium remoto hay que indicar en {@code automation.recording.upload.host} una dirección
+ * de esta máquina alcanzable desde él.
+ */
+public class ScreenRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenRecorder.class);
+
+    private static final boolean ENABLED = Config.getBoolean("automation.recording.enabled", false);
+    private static final Path DIRECTORY = Paths.get(Config.getString("automation.recording.dir", "target/recordings"));
+    private static final String UPLOAD_HOST = Config.getString("automation.recording.upload.host", "127.0.0.1");
+    private static final Duration TIME_LIMIT = Config.getMillis("automation.recording.time.limit", Duration.ofMinutes(10));
+    private static final int BIT_RATE = Config.getInt("automation.recording.bit.rate", 4_000_000);
+    private static final int BASELINE_EVERY = Config.getInt("automation.recording.baseline.every", 0);
+
+    // Un hilo por sesión con tareas pendientes: los arranques de distintos dispositivos no se esperan
+    private static final ExecutorService tasks = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "screen-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<AndroidDriver, CompletableFuture<Boolean>> recordings = new ConcurrentHashMap<>();
+    // Última parada en segundo plano de cada sesión; el siguiente arranque se encadena detrás
+    private static final Map<AndroidDriver, CompletableFuture<Void>> stopping = new ConcurrentHashMap<>();
+    // Hilo del escenario con la sesión recién asignada: si se está grabando, hasta su primer comando
+    private static final ThreadLocal<Boolean> awaitingFirstCommand = new ThreadLocal<>();
+
+    private static final AtomicInteger assigned = new AtomicInteger();
+    private static final AtomicInteger requested = new AtomicInteger();
+    private static final AtomicInteger started = new AtomicInteger();
+    private static final AtomicInteger discarded = new AtomicInteger();
+    private static final AtomicInteger kept = new AtomicInteger();
+    private static final AtomicInteger failed = new AtomicInteger();
+    private static final AtomicLong bytesKept = new AtomicLong();
+    // Tiempo que la grabación ocupa al hilo del escenario: al arrancar y al terminar
+    private static final AtomicLong startNanos = new AtomicLong();
+    private static final AtomicLong discardNanos = new AtomicLong();
+    private static final AtomicLong keepNanos = new AtomicLong();
+    // Primer comando tras asignar la sesión: con grabación y sin ella (número y nanosegundos)
+    private static final AtomicInteger firstCommandsRecording = new AtomicInteger();
+    private static final AtomicLong firstCommandRecordingNanos = new AtomicLong();
+    private static final AtomicInteger firstCommandsPlain = new AtomicInteger();
+    private static final AtomicLong firstCommandPlainNanos = new AtomicLong();
+
+    private static HttpServer receiver;
+
+    private ScreenRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Arranca la grabación en segundo plano; el escenario no espera a la respuesta del servidor,
+     * pero su siguiente comando sí espera a que la sesión quede libre. Se llama al asignar la
+     * sesión al escenario también con la grabación desactivada, para medir el primer comando.
+     */
+    public static void start(AndroidDriver driver) {
+        int session = assigned.incrementAndGet();
+        boolean record = ENABLED && (BASELINE_EVERY <= 0 || session % BASELINE_EVERY != 0);
+        awaitingFirstCommand.set(record);
+        if (!record) {
+            return;
+        }
+        long begin = System.nanoTime();
+        CompletableFuture<Void> previous = stopping.remove(driver);
+        CompletableFuture<Void> ready = previous != null ? previous : CompletableFuture.completedFuture(null);
+        recordings.put(driver, ready.thenApplyAsync(ignored -> {
+            try {
+                driver.startRecordingScreen(AndroidStartScreenRecordingOptions.startScreenRecordingOptions()
+                        .withTimeLimit(TIME_LIMIT)
+                        .withBitRate(BIT_RATE)
+                        .enableForcedRestart());
+                started.incrementAndGet();
+                return true;
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                logger.warn("No se pudo iniciar la grabación de pantalla: {}", e.getMessage());
+                return false;
+            }
+        }, tasks));
+        requested.incrementAndGet();
+        startNanos.addAndGet(System.nanoTime() - begin);
+    }
+
+    /**
+     * Latencia de un comando terminado en este hilo; sólo cuenta el primero tras {@link #start}.
+     */
+    public static void commandCompleted(long elapsedNanos) {
+        Boolean recording = awaitingFirstCommand.get();
+        if (recording == null) {
+            return;
+        }
+        awaitingFirstCommand.remove();
+        if (recording) {
+            firstCommandsRecording.incrementAndGet();
+            firstCommandRecordingNanos.addAndGet(elapsedNanos);
+        } else {
+            firstCommandsPlain.incrementAndGet();
+            firstCommandPlainNanos.addAndGet(elapsedNanos);
+        }
+    }
+
+    /**
+     * Termina la grabación del escenario: si falló, la sube a {@code <dir>/<nombre>.mp4}; si no, la
+     * detiene en segundo plano y descarta el vídeo.
+     */
+    public static void finish(AndroidDriver driver, boolean scenarioFailed, String name) {
+        long begin = System.nanoTime();
+        awaitingFirstCommand.remove();
+        CompletableFuture<Boolean> recording = recordings.remove(driver);
+        if (!ENABLED || recording == null) {
+            return;
+        }
+        if (!scenarioFailed) {
+            CompletableFuture<Void> stop = recording.thenAcceptAsync(running -> {
+                if (running) {
+                    discard(driver);
+                }
+            }, tasks);
+            stopping.put(driver, stop);
+            stop.whenComplete((ignored, error) -> stopping.remove(driver, stop));
+            discarded.incrementAndGet();
+            discardNanos.addAndGet(System.nanoTime() - begin);
+            return;
+        }
+
+        try {
+            if (!recording.join()) {
+                return;
+            }
+            String file = EvidencePipeline.slug(name) + ".mp4";
+            driver.stopRecordingScreen(AndroidStopScreenRecordingOptions.stopScreenRecordingOptions()
+                    .withUploadOptions(ScreenRecordingUploadOptions.uploadOptions()
+                            .withRemotePath(receiverUrl() + file)
+                            .withHttpMethod(ScreenRecordingUploadOptions.RequestMethod.PUT)));
+            kept.incrementAndGet();
+            logger.info("Grabación del escenario fallido guardada en {}", DIRECTORY.resolve(file));
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.warn("No se pudo guardar la grabación de {}: {}", name, e.getMessage());
+        } finally {
+            keepNanos.addAndGet(System.nanoTime() - begin);
+        }
+    }
+
+    // Sin opciones de subida Appium devuelve el vídeo en la respuesta; aquí no se guarda
+    private static void discard(AndroidDriver driver) {
+        try {
+            driver.stopRecordingScreen();
+        } catch (Exception e) {
+            // La sesión pudo cerrarse mientras tanto; con ella termina también la grabación
+            logger.debug("No se pudo detener la grabación descartada: {}", e.getMessage());
+        }
+    }
+
+    public static String report() {
+        String firstCommand = String.format("primer comando tras asignar la sesión: %s con grabación, %s sin grabación",
+                firstCommandAverage(firstCommandRecordingNanos, firstCommandsRecording.get()),
+                firstCommandAverage(firstCommandPlainNanos, firstCommandsPlain.get()));
+        if (!ENABLED) {
+            return "Grabación de pantalla: desactivada; " + firstCommand;
+        }
+        return String.format("Grabación de pantalla: %d iniciadas (%.2f ms de media en el hilo del escenario), %s; "
+                        + "%d detenidas y descartadas en escenarios correctos (%.2f ms de media), "
+                        + "%d guardadas de escenarios fallidos (%d KB, %d ms de media), %d errores",
+                started.get(), average(startNanos, requested.get()), firstCommand,
+                discarded.get(), average(discardNanos, discarded.get()),
+                kept.get(), bytesKept.get() / 1024, (long) average(keepNanos, kept.get()), failed.get());
+    }
+
+    private static String firstCommandAverage(AtomicLong nanos, int count) {
+        return count == 0 ? "sin datos" : String.format("%.1f ms de media en %d escenarios", average(nanos, count), count);
+    }
+
+    private static double average(AtomicLong nanos, int count) {
+        return count == 0 ? 0 : nanos.get() / 1e6 / count;
+    }
+
+    private static synchronized String receiverUrl() throws IOException {
+        if (receiver == null) {
+            Files.createDirectories(DIRECTORY);
+            receiver = HttpServer.create(new InetSocketAddress(0), 0);
+            receiver.setExecutor(Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "screen-recording-receiver");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            receiver.createContext("/recordings/", ScreenRecorder::receive);
+            receiver.start();
+        }
+        return "http://" + UPLOAD_HOST + ":" + receiver.getAddress().getPort() + "/recordings/";
+    }
+
+    // El cuerpo de la subida se copia a disco por bloques, sin cargar el vídeo en memoria
+    private static void receive(HttpExchange exchange) throws IOException {
+        String name = Paths.get(exchange.getRequestURI().getPath()).getFileName().toString();
+        Path file = DIRECTORY.resolve(name);
+        try (InputStream body = exchange.getRequestBody()) {
+            long size = Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            bytesKept.addAndGet(size);
+            exchange.sendResponseHeaders(200, -1);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Error recibiendo la grabación {}: {}", name, e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -1,51 +1,155 @@
 package com.base.automation.hooks;
 
+import com.base.automation.abilities.ElementCache;
+import com.base.automation.abilities.ScreenSnapshot;
+import com.base.automation.drivers.AppDataSnapshots;
+import com.base.automation.drivers.AppReset;
+import com.base.automation.drivers.CapabilityProfiles;
+import com.base.automation.drivers.Device;
+import com.base.automation.drivers.DeviceRegistry;
 import com.base.automation.drivers.DriverFactory;
+import com.base.automation.drivers.DriverPool;
+import com.base.automation.drivers.DriverReaper;
+import com.base.automation.drivers.ResetStrategy;
+import com.base.automation.evidence.EvidencePipeline;
+import com.base.automation.evidence.ScreenRecorder;
+import com.base.automation.interactions.ElementGeometry;
+import com.base.automation.interactions.Wait;
+import com.base.automation.utils.CommandMetrics;
+import com.base.automation.utils.PreconditionMetrics;
+import com.base.automation.utils.WaitMetrics;
+import io.appium.java_client.android.AndroidDriver;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
+import net.serenitybdd.core.Serenity;
 import net.serenitybdd.screenplay.actors.OnStage;
 import net.serenitybdd.screenplay.actors.OnlineCast;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
 public class AppiumHooks {
 
     private static final Logger logger = LoggerFactory.getLogger(AppiumHooks.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> stepCounter = ThreadLocal.withInitial(() -> new int[1]);
+
+    @BeforeAll
+    public static void prewarmDevices() {
+        // Sin efecto con automation.pool.prewarm.depth = 0
+        DeviceRegistry.devices().forEach(DriverFactory::prewarm);
+    }
 
     @Before
     public void setUp(Scenario scenario) {
         logger.info("Iniciando escenario: {}", scenario.getName());
+        DeviceRegistry.lease();
+        CapabilityProfiles.select(scenario.getSourceTagNames());
+        AppReset.select(ResetStrategy.fromTags(scenario.getSourceTagNames()));
+        AppDataSnapshots.select(scenario.getSourceTagNames());
         OnStage.setTheStage(new OnlineCast());
     }
 
+    @AfterStep
+    public void captureEvidence(Scenario scenario) {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver != null && EvidencePipeline.isEnabled()) {
+            int step = ++stepCounter.get()[0];
+            EvidencePipeline.capture(driver, evidenceFolder(scenario),
+                    "paso-" + step + (scenario.isFailed() ? "-fallo" : ""));
+        }
+    }
+
     @After(order = 0)
     public void tearDown(Scenario scenario) {
         WebDriver driver = driverThreadLocal.get();
+        // Vacío si setUp falló antes de arrendar el dispositivo
+        Optional<Device> device = DeviceRegistry.leased();
 
         if (driver != null) {
+            // Instantánea y grabación van por separado: un fallo en ellas no debe impedir devolver la sesión
             try {
                 if (scenario.isFailed()) {
                     logger.error("Escenario falló: {}", scenario.getName());
+                } else {
+                    AppDataSnapshots.captureSelected((AndroidDriver) driver);
                 }
+            } catch (Exception e) {
+                logger.error("Error al guardar la instantánea de datos de la app: {}", e.getMessage());
+            }
+            try {
+                ScreenRecorder.finish((AndroidDriver) driver, scenario.isFailed(), evidenceFolder(scenario));
+            } catch (Exception e) {
+                logger.error("Error al terminar la grabación de pantalla: {}", e.getMessage());
+            }
 
+            try {
+                logger.info(ElementGeometry.report());
+                logger.info(ElementCache.report());
                 logger.info("Cerrando aplicación para escenario: {}", scenario.getName());
 
-                driver.quit();
-                logger.info("Aplicación cerrada exitosamente");
+                Serenity.recordReportData().withTitle("Latencia de comandos Appium")
+                        .andContents(CommandMetrics.scenarioReport());
 
             } catch (Exception e) {
                 logger.error("Error al cerrar la aplicación: {}", e.getMessage());
             } finally {
                 driverThreadLocal.remove();
+                DriverFactory.releaseDriver((AndroidDriver) driver);
+                logger.info("Sesión liberada exitosamente");
             }
         }
+        EvidencePipeline.finish(evidenceFolder(scenario));
+        stepCounter.remove();
+        AppReset.clear();
+        Wait.clear();
+        AppDataSnapshots.clear();
+        CapabilityProfiles.clear();
+        // Si la sesión se descartó, la siguiente se crea en segundo plano mientras se prepara el próximo
+        // escenario; antes de devolver el dispositivo, para que ningún otro escenario lo tenga ya
+        device.ifPresent(DriverFactory::prewarm);
+        DeviceRegistry.release();
+    }
+
+    @AfterAll
+    public static void reportRun() {
+        EvidencePipeline.drain(Duration.ofSeconds(30));
+        logger.info(EvidencePipeline.report());
+        logger.info(ScreenRecorder.report());
+        logger.info(DriverFactory.report());
+        logger.info(DriverPool.report());
+        logger.info(DriverReaper.report());
+        logger.info(AppReset.report());
+        logger.info(PreconditionMetrics.report());
+        logger.info(WaitMetrics.report());
+        logger.info(ScreenSnapshot.report());
+        logger.info(CommandMetrics.report());
+        try {
+            logger.info("Resumen de comandos escrito en {}", CommandMetrics.writeSummary());
+        } catch (IOException e) {
+            logger.warn("No se pudo escribir el resumen de comandos: {}", e.getMessage());
+        }
+    }
+
+    // Nombre y línea: dos escenarios de un Scenario Outline no comparten carpeta
+    private static String evidenceFolder(Scenario scenario) {
+        return scenario.getName() + " " + scenario.getLine();
     }
 
     public static void setDriver(WebDriver driver) {
         driverThreadLocal.set(driver);
+        // La sesión del escenario existe a partir de aquí, no en @Before
+        if (driver instanceof AndroidDriver androidDriver) {
+            ScreenRecorder.start(androidDriver);
+        }
     }
 
     public static WebDriver getDriver() {
@@ -1,23 +1,21 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Collections;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class DoubleTap implements Interaction {
+public class DoubleTap implements Interaction, Gesture {
     private final Target target;
     private final Duration pauseBetweenTaps;
 
@@ -35,38 +33,30 @@ public class DoubleTap implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        WebElement element = target.resolveFor(actor);
-        if (element == null) {
-            throw new RuntimeException("Elemento " + target.getName() + " no encontrado.");
-        }
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
+    }
 
-        Point center = getElementCenter(element);
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        Point center = ElementCache.as(actor).use(target, element -> ElementGeometry.of(element)).center();
 
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence doubleTapSequence = new Sequence(finger, 1);
+        PointerInput finger = composer.finger("finger");
 
         // Primer tap
-        doubleTapSequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), center.getX(), center.getY()));
-        doubleTapSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        doubleTapSequence.addAction(new Pause(finger, Duration.ofMillis(50)));
-        doubleTapSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), center.getX(), center.getY()));
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, new Pause(finger, Duration.ofMillis(50)));
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
 
         // Pausa entre taps
-        doubleTapSequence.addAction(new Pause(finger, pauseBetweenTaps));
+        composer.add(finger, new Pause(finger, pauseBetweenTaps));
 
         // Segundo tap
-        doubleTapSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        doubleTapSequence.addAction(new Pause(finger, Duration.ofMillis(50)));
-        doubleTapSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(Collections.singletonList(doubleTapSequence));
-    }
-
-    private Point getElementCenter(WebElement element) {
-        Point location = element.getLocation();
-        int centerX = location.getX() + (element.getSize().getWidth() / 2);
-        int centerY = location.getY() + (element.getSize().getHeight() / 2);
-        return new Point(centerX, centerY);
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, new Pause(finger, Duration.ofMillis(50)));
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
     public static DoubleTap on(Target target) {
@@ -1,22 +1,20 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Collections;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class DragTo implements Interaction {
+public class DragTo implements Interaction, Gesture {
     private final Target sourceElement;
     private final Target destinationElement;
     private final Duration duration;
@@ -36,40 +34,28 @@ public class DragTo implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        WebElement source = sourceElement.resolveFor(actor);
-        WebElement destination = destinationElement.resolveFor(actor);
-
-        if (source == null) {
-            throw new RuntimeException("Elemento origen " + sourceElement.getName() + " no encontrado.");
-        }
-        if (destination == null) {
-            throw new RuntimeException("Elemento destino " + destinationElement.getName() + " no encontrado.");
-        }
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
+    }
 
-        Point sourceCenter = getElementCenter(source);
-        Point destinationCenter = getElementCenter(destination);
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        ElementCache elements = ElementCache.as(actor);
+        Point sourceCenter = elements.use(sourceElement, element -> ElementGeometry.of(element)).center();
+        Point destinationCenter = elements.use(destinationElement, element -> ElementGeometry.of(element)).center();
 
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence dragSequence = new Sequence(finger, 1);
+        PointerInput finger = composer.finger("finger");
 
         // Mover al elemento origen y presionar
-        dragSequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), sourceCenter.getX(), sourceCenter.getY()));
-        dragSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), sourceCenter.getX(), sourceCenter.getY()));
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
 
         // Arrastrar al destino
-        dragSequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), destinationCenter.getX(), destinationCenter.getY()));
+        composer.add(finger, finger.createPointerMove(duration, PointerInput.Origin.viewport(), destinationCenter.getX(), destinationCenter.getY()));
 
         // Soltar
-        dragSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(Collections.singletonList(dragSequence));
-    }
-
-    private Point getElementCenter(WebElement element) {
-        Point location = element.getLocation();
-        int centerX = location.getX() + (element.getSize().getWidth() / 2);
-        int centerY = location.getY() + (element.getSize().getHeight() / 2);
-        return new Point(centerX, centerY);
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
     public static DragTo drag(Target source, Target destination) {
@@ -0,0 +1,131 @@
+package com.base.automation.interactions;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Geometría de un elemento (o de la pantalla) obtenida con una sola llamada a {@code getRect()}.
+ * <p>
+ * Los rectángulos se cachean por id de elemento en el hilo actual y se invalidan con
+ * {@link #invalidate()} cada vez que un gesto puede haber cambiado la pantalla. El tamaño de la
+ * ventana se cachea por sesión, ya que no cambia al hacer scroll ni al navegar.
+ */
+public class ElementGeometry {
+
+    private static final ThreadLocal<Map<String, Rectangle>> elementRects = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, Rectangle>> screenRects = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, int[]>> usage = ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final Rectangle rect;
+
+    private ElementGeometry(Rectangle rect) {
+        this.rect = rect;
+    }
+
+    public static ElementGeometry of(WebElement element) {
+        String id = ElementProbe.elementId(element);
+        Rectangle rect = id == null ? null : elementRects.get().get(id);
+        boolean fetched = rect == null;
+
+        if (fetched) {
+            rect = element.getRect();
+            if (id != null) {
+                elementRects.get().put(id, rect);
+            }
+        }
+
+        record(walker.getCallerClass().getSimpleName(), fetched);
+        return new ElementGeometry(rect);
+    }
+
+    public static ElementGeometry ofScreen(WebDriver driver) {
+        String sessionId = String.valueOf(((RemoteWebDriver) driver).getSessionId());
+        Rectangle rect = screenRects.get().get(sessionId);
+        boolean fetched = rect == null;
+
+        if (fetched) {
+            Dimension size = driver.manage().window().getSize();
+            rect = new Rectangle(0, 0, size.getHeight(), size.getWidth());
+            screenRects.get().put(sessionId, rect);
+        }
+
+        record(walker.getCallerClass().getSimpleName(), fetched);
+        return new ElementGeometry(rect);
+    }
+
+    /**
+     * Descarta los rectángulos de elementos cacheados; se llama tras cualquier gesto.
+     */
+    public static void invalidate() {
+        elementRects.get().clear();
+    }
+
+    /**
+     * Resumen por interacción de consultas de geometría y comandos realmente enviados; el resto se
+     * resolvió con la caché. La comparación con getLocation()/getSize() se mide contra el stub en
+     * {@code GeometryBenchmarks}. Reinicia los contadores del hilo.
+     */
+    public static String report() {
+        String summary = usage.get().entrySet().stream()
+                .map(entry -> String.format("%s: %d consultas, %d comandos",
+                        entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .collect(Collectors.joining("; "));
+        usage.remove();
+        return summary.isEmpty() ? "Geometría: sin consultas" : "Geometría: " + summary;
+    }
+
+    public Rectangle rect() {
+        return rect;
+    }
+
+    public int width() {
+        return rect.getWidth();
+    }
+
+    public int height() {
+        return rect.getHeight();
+    }
+
+    public Point center() {
+        return pointAt(0.5, 0.5);
+    }
+
+    public Point pointAt(double xPercentage, double yPercentage) {
+        return new Point(rect.getX() + (int) (rect.getWidth() * xPercentage),
+                rect.getY() + (int) (rect.getHeight() * yPercentage));
+    }
+
+    public Point topCenter() {
+        return new Point(center().getX(), rect.getY());
+    }
+
+    public Point bottomCenter() {
+        return new Point(center().getX(), rect.getY() + rect.getHeight());
+    }
+
+    public Point leftCenter() {
+        return new Point(rect.getX(), center().getY());
+    }
+
+    public Point rightCenter() {
+        return new Point(rect.getX() + rect.getWidth(), center().getY());
+    }
+
+    private static void record(String interaction, boolean fetched) {
+        int[] counts = usage.get().computeIfAbsent(interaction, k -> new int[2]);
+        counts[0]++;
+        if (fetched) {
+            counts[1]++;
+        }
+    }
+}
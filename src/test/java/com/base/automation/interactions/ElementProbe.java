@@ -0,0 +1,72 @@
+package com.base.automation.interactions;
+
+import com.base.automation.drivers.DriverFactory;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Comprobaciones de presencia que no esperan el implicit wait de la sesión.
+ * <p>
+ * Un {@code findElement} sobre un elemento ausente bloquea durante todo el implicit wait
+ * configurado en {@link DriverFactory}. Las búsquedas hechas dentro de
+ * {@link #withoutImplicitWait(WebDriver, Supplier)} usan {@code findElements} con espera cero y
+ * devuelven en cuanto el servidor responde; el timeout original se restaura al salir.
+ */
+public class ElementProbe {
+
+    private static final ThreadLocal<Boolean> probing = ThreadLocal.withInitial(() -> false);
+
+    private ElementProbe() {
+    }
+
+    public static <R> R withoutImplicitWait(WebDriver driver, Supplier<R> probe) {
+        if (probing.get()) {
+            return probe.get();
+        }
+
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        probing.set(true);
+        try {
+            return probe.get();
+        } finally {
+            probing.set(false);
+            driver.manage().timeouts().implicitlyWait(DriverFactory.IMPLICIT_WAIT);
+        }
+    }
+
+    public static List<WebElement> findAll(WebDriver driver, Target target) {
+        By locator = locatorOf(driver, target);
+        return withoutImplicitWait(driver, () -> driver.findElements(locator));
+    }
+
+    public static boolean isPresent(WebDriver driver, Target target) {
+        return !findAll(driver, target).isEmpty();
+    }
+
+    public static By locatorOf(WebDriver driver, Target target) {
+        List<By> selectors = target.selectors(driver);
+        if (selectors.isEmpty()) {
+            throw new IllegalArgumentException("El target " + target.getName() + " no tiene localizador");
+        }
+        return selectors.get(0);
+    }
+
+    /**
+     * Id W3C del elemento, atravesando los proxies de Serenity; {@code null} si no es remoto.
+     */
+    public static String elementId(WebElement element) {
+        WebElement unwrapped = element;
+        while (unwrapped instanceof WrapsElement wrapper && wrapper.getWrappedElement() != unwrapped) {
+            unwrapped = wrapper.getWrappedElement();
+        }
+        return unwrapped instanceof RemoteWebElement remote ? remote.getId() : null;
+    }
+}
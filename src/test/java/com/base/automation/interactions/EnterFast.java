@@ -0,0 +1,101 @@
+package com.base.automation.interactions;
+
+import com.base.automation.abilities.ElementCache;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+import static net.serenitybdd.screenplay.Tasks.instrumented;
+
+/**
+ * Escribe un valor en un campo con un único comando {@code mobile: replaceElementValue}.
+ * <p>
+ * A diferencia de {@code Enter}, no limpia el campo ni envía las teclas una a una: UiAutomator2
+ * sustituye el texto directamente, sin pasar por el IME. Opcionalmente oculta el teclado al
+ * terminar. Si el elemento no es remoto o el servidor no soporta el comando, recurre a
+ * {@code clear()} + {@code sendKeys()}.
+ */
+public class EnterFast implements Interaction {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnterFast.class);
+
+    private final String value;
+    private final Target target;
+    private final boolean hideKeyboard;
+
+    public EnterFast(String value, Target target, boolean hideKeyboard) {
+        this.value = value;
+        this.target = target;
+        this.hideKeyboard = hideKeyboard;
+    }
+
+    public EnterFast(String value, Target target) {
+        this(value, target, false);
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        WebDriver driver = BrowseTheWeb.as(actor).getDriver();
+
+        ElementCache.as(actor).use(target, element -> {
+            String elementId = ElementProbe.elementId(element);
+            if (elementId == null || !replaceValue((JavascriptExecutor) driver, elementId)) {
+                element.clear();
+                element.sendKeys(value);
+            }
+            return element;
+        });
+
+        if (hideKeyboard) {
+            hideKeyboard((JavascriptExecutor) driver);
+        }
+        ScreenState.changed();
+    }
+
+    private boolean replaceValue(JavascriptExecutor driver, String elementId) {
+        try {
+            driver.executeScript("mobile: replaceElementValue", Map.of("elementId", elementId, "text", value));
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("replaceElementValue no disponible para {}, se usa sendKeys: {}", target.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static void hideKeyboard(JavascriptExecutor driver) {
+        try {
+            driver.executeScript("mobile: hideKeyboard", Map.of());
+        } catch (WebDriverException e) {
+            // El teclado no estaba visible
+            logger.debug("No se pudo ocultar el teclado: {}", e.getMessage());
+        }
+    }
+
+    public EnterFast thenHideKeyboard() {
+        return instrumented(EnterFast.class, value, target, true);
+    }
+
+    public static Builder theValue(String value) {
+        return new Builder(value);
+    }
+
+    public static class Builder {
+        private final String value;
+
+        private Builder(String value) {
+            this.value = value;
+        }
+
+        public EnterFast into(Target target) {
+            return instrumented(EnterFast.class, value, target);
+        }
+    }
+}
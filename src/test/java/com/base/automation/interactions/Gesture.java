@@ -0,0 +1,12 @@
+package com.base.automation.interactions;
+
+import net.serenitybdd.screenplay.Actor;
+
+/**
+ * Interacción que sabe describirse como acciones W3C sobre un {@link GestureComposer}, de modo
+ * que puede ejecutarse sola o encadenada con otras en un único {@link GestureBatch}.
+ */
+public interface Gesture {
+
+    void compose(Actor actor, GestureComposer composer);
+}
@@ -0,0 +1,52 @@
+package com.base.automation.interactions;
+
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.List;
+
+import static net.serenitybdd.screenplay.Tasks.instrumented;
+
+/**
+ * Ejecuta varios gestos en una sola petición W3C de acciones, con una pausa entre ellos.
+ * <p>
+ * Las coordenadas de todos los gestos se calculan antes de enviar la petición, así que sólo
+ * debe usarse con elementos que no se desplazan durante la cadena (por ejemplo, no tras un
+ * tecleo que abra el teclado y recoloque el formulario).
+ */
+public class GestureBatch implements Interaction {
+    private final List<Gesture> gestures;
+    private final Duration pauseBetween;
+
+    public GestureBatch(List<Gesture> gestures, Duration pauseBetween) {
+        this.gestures = gestures;
+        this.pauseBetween = pauseBetween;
+    }
+
+    public GestureBatch(List<Gesture> gestures) {
+        this(gestures, Duration.ofMillis(100));
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        RemoteWebDriver driver = (RemoteWebDriver) BrowseTheWeb.as(actor).getDriver();
+
+        GestureComposer composer = new GestureComposer();
+        for (int i = 0; i < gestures.size(); i++) {
+            gestures.get(i).compose(actor, composer);
+            composer.endStep(i < gestures.size() - 1 ? pauseBetween : Duration.ZERO);
+        }
+        composer.perform(driver);
+    }
+
+    public static GestureBatch of(Gesture... gestures) {
+        return instrumented(GestureBatch.class, List.of(gestures));
+    }
+
+    public static GestureBatch of(Duration pauseBetween, Gesture... gestures) {
+        return instrumented(GestureBatch.class, List.of(gestures), pauseBetween);
+    }
+}
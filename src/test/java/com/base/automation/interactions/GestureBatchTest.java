@@ -0,0 +1,160 @@
+package com.base.automation.interactions;
+
+import com.base.automation.stub.AppiumStubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.targets.Target;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Secuencias W3C que {@link GestureBatch} y {@link GestureComposer} envían al stub de Appium.
+ * <p>
+ * Las interacciones se construyen con {@code new} y no con sus factorías {@code instrumented}:
+ * fuera de un test de Serenity, el proxy instrumentado no propaga los errores del gesto.
+ */
+class GestureBatchTest {
+
+    private static final Target FIELD = Target.the("campo").located(By.id("test-Username"));
+    private static final Target BUTTON = Target.the("botón").located(By.id("test-LOGIN"));
+    // Centro del rectángulo fijo del stub (x=40, y=600, 1000x120)
+    private static final int CENTER_X = 540;
+    private static final int CENTER_Y = 660;
+
+    private static AppiumStubServer server;
+    private static AndroidDriver driver;
+    private static Actor actor;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        server = new AppiumStubServer(0, Duration.ZERO).start();
+        driver = new AndroidDriver(new URL(server.url()), new UiAutomator2Options().setDeviceName("stub-device"));
+        actor = Actor.named("Gestos").whoCan(BrowseTheWeb.with(driver));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        driver.quit();
+        server.close();
+    }
+
+    @BeforeEach
+    void resetStub() {
+        server.resetCounters();
+        ScreenState.changed();
+    }
+
+    @Test
+    void sendsTheWholeBatchAsOneActionsRequest() {
+        new GestureBatch(List.of(new TapOn(FIELD), new TypeKeys("ab"), new TapOn(BUTTON))).performAs(actor);
+
+        assertThat(server.recordedActions()).hasSize(1);
+        JsonNode sources = server.recordedActions().get(0);
+        assertThat(sources).hasSize(2);
+        assertThat(sources.get(0).path("type").asText()).isEqualTo("pointer");
+        assertThat(sources.get(0).path("parameters").path("pointerType").asText()).isEqualTo("touch");
+        assertThat(sources.get(1).path("type").asText()).isEqualTo("key");
+    }
+
+    @Test
+    void alignsEveryStepOnTheSameTickAcrossSources() {
+        new GestureBatch(List.of(new TapOn(FIELD), new TypeKeys("ab"), new TapOn(BUTTON)),
+                Duration.ofMillis(100)).performAs(actor);
+
+        JsonNode finger = source("finger");
+        JsonNode keyboard = source("keyboard");
+        assertThat(finger.path("actions")).hasSameSizeAs(keyboard.path("actions"));
+
+        // Toque (4) + pausa, tecleo de "ab" (4) + pausa, toque (4)
+        assertThat(types(finger)).containsExactly(
+                "pointerMove", "pointerDown", "pause", "pointerUp", "pause",
+                "pause", "pause", "pause", "pause", "pause",
+                "pointerMove", "pointerDown", "pause", "pointerUp");
+        assertThat(types(keyboard)).containsExactly(
+                "pause", "pause", "pause", "pause", "pause",
+                "keyDown", "keyUp", "keyDown", "keyUp", "pause",
+                "pause", "pause", "pause", "pause");
+
+        // Las pausas entre pasos caen en el mismo tick en todas las fuentes
+        assertThat(duration(finger, 4)).isEqualTo(100);
+        assertThat(duration(keyboard, 9)).isEqualTo(100);
+        assertThat(duration(finger, 9)).isEqualTo(100);
+
+        assertThat(finger.path("actions").get(0).path("x").asInt()).isEqualTo(CENTER_X);
+        assertThat(finger.path("actions").get(0).path("y").asInt()).isEqualTo(CENTER_Y);
+    }
+
+    @Test
+    void padsLateSourcesAndIdleTicksWithZeroPauses() {
+        new GestureBatch(List.of(new TapOn(FIELD), new TypeKeys("ab")), Duration.ofMillis(100)).performAs(actor);
+
+        JsonNode finger = source("finger");
+        JsonNode keyboard = source("keyboard");
+
+        // El teclado aparece en el segundo paso: sus primeros ticks son pausas nulas
+        for (int tick = 0; tick < 5; tick++) {
+            assertThat(keyboard.path("actions").get(tick).path("type").asText()).isEqualTo("pause");
+            assertThat(duration(keyboard, tick)).isZero();
+        }
+        // Mientras se teclea, el dedo espera con pausas nulas hasta el final de la cadena
+        for (int tick = 5; tick < 9; tick++) {
+            assertThat(finger.path("actions").get(tick).path("type").asText()).isEqualTo("pause");
+            assertThat(duration(finger, tick)).isZero();
+        }
+        assertThat(keyboard.path("actions").get(5).path("value").asText()).isEqualTo("a");
+        assertThat(keyboard.path("actions").get(7).path("value").asText()).isEqualTo("b");
+        // La última pausa entre pasos no se añade tras el último gesto
+        assertThat(finger.path("actions")).hasSize(9);
+        assertThat(keyboard.path("actions")).hasSize(9);
+    }
+
+    @Test
+    void keepsBothPinchFingersInStepWithALaterTap() {
+        new GestureBatch(List.of(new Pinch(BUTTON, Pinch.Type.IN), new TapOn(BUTTON)), Duration.ZERO).performAs(actor);
+
+        JsonNode sources = server.recordedActions().get(0);
+        assertThat(sources).extracting(source -> source.path("id").asText())
+                .containsExactly("finger1", "finger2", "finger");
+        assertThat(sources).allSatisfy(source -> assertThat(source.path("actions")).hasSize(8));
+
+        // Sin pausa entre pasos el toque empieza justo cuando terminan ambos dedos del pellizco
+        assertThat(types(source("finger1")).subList(4, 8)).containsOnly("pause");
+        assertThat(types(source("finger2")).subList(4, 8)).containsOnly("pause");
+        assertThat(types(source("finger")).subList(0, 4)).containsOnly("pause");
+        assertThat(types(source("finger")).subList(4, 8))
+                .containsExactly("pointerMove", "pointerDown", "pause", "pointerUp");
+    }
+
+    private static JsonNode source(String id) {
+        for (JsonNode source : server.recordedActions().get(0)) {
+            if (source.path("id").asText().equals(id)) {
+                return source;
+            }
+        }
+        throw new AssertionError("No se envió la fuente " + id);
+    }
+
+    private static List<String> types(JsonNode source) {
+        List<String> types = new ArrayList<>();
+        source.path("actions").forEach(action -> types.add(action.path("type").asText()));
+        return types;
+    }
+
+    private static long duration(JsonNode source, int tick) {
+        return source.path("actions").get(tick).path("duration").asLong();
+    }
+}
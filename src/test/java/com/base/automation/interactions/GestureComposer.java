@@ -0,0 +1,97 @@
+package com.base.automation.interactions;
+
+import org.openqa.selenium.interactions.InputSource;
+import org.openqa.selenium.interactions.Interaction;
+import org.openqa.selenium.interactions.KeyInput;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Acumula acciones W3C por fuente de entrada (dedos, teclado) y las compila en las secuencias de
+ * una sola petición {@code perform}.
+ * <p>
+ * En W3C las acciones de distintas fuentes se ejecutan alineadas por posición (tick). Al cerrar
+ * cada paso con {@link #endStep(Duration)} todas las fuentes se igualan en longitud con pausas, así
+ * el paso siguiente no empieza hasta que el anterior terminó en todas ellas. Una fuente que
+ * aparece a mitad de la cadena se rellena igualmente hasta el último paso cerrado.
+ */
+public class GestureComposer {
+
+    private final Map<String, InputSource> sources = new LinkedHashMap<>();
+    private final Map<String, List<Interaction>> actions = new LinkedHashMap<>();
+    private int closedTicks;
+
+    public PointerInput finger(String name) {
+        return (PointerInput) source(name, () -> new PointerInput(PointerInput.Kind.TOUCH, name));
+    }
+
+    public KeyInput keyboard() {
+        return (KeyInput) source("keyboard", () -> new KeyInput("keyboard"));
+    }
+
+    public GestureComposer add(InputSource source, Interaction action) {
+        actions.computeIfAbsent(name(source), k -> new ArrayList<>()).add(action);
+        return this;
+    }
+
+    public GestureComposer endStep(Duration pauseAfter) {
+        int ticks = actions.values().stream().mapToInt(List::size).max().orElse(0);
+        sources.forEach((name, source) -> {
+            List<Interaction> sourceActions = actions.computeIfAbsent(name, k -> new ArrayList<>());
+            while (sourceActions.size() < ticks) {
+                sourceActions.add(new Pause(source, Duration.ZERO));
+            }
+            if (!pauseAfter.isZero()) {
+                sourceActions.add(new Pause(source, pauseAfter));
+            }
+        });
+        closedTicks = ticks + (pauseAfter.isZero() ? 0 : 1);
+        return this;
+    }
+
+    public List<Sequence> compile() {
+        endStep(Duration.ZERO);
+        List<Sequence> sequences = new ArrayList<>();
+        sources.forEach((name, source) -> {
+            Sequence sequence = new Sequence(source, 0);
+            actions.get(name).forEach(sequence::addAction);
+            sequences.add(sequence);
+        });
+        return sequences;
+    }
+
+    public void perform(RemoteWebDriver driver) {
+        driver.perform(compile());
+        ScreenState.changed();
+    }
+
+    private InputSource source(String name, Supplier<InputSource> factory) {
+        InputSource existing = sources.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        InputSource created = factory.get();
+        List<Interaction> padding = new ArrayList<>();
+        for (int i = 0; i < closedTicks; i++) {
+            padding.add(new Pause(created, Duration.ZERO));
+        }
+        sources.put(name, created);
+        actions.put(name, padding);
+        return created;
+    }
+
+    private static String name(InputSource source) {
+        return source instanceof PointerInput pointer ? pointer.getName()
+                : source instanceof KeyInput key ? key.getName()
+                : source.toString();
+    }
+}
@@ -1,23 +1,21 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Collections;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class LongPress implements Interaction {
+public class LongPress implements Interaction, Gesture {
     private final Target target;
     private final Duration pressDuration;
 
@@ -35,29 +33,21 @@ public class LongPress implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        WebElement element = target.resolveFor(actor);
-        if (element == null) {
-            throw new RuntimeException("Elemento " + target.getName() + " no encontrado.");
-        }
-
-        Point center = getElementCenter(element);
-
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence longPressSequence = new Sequence(finger, 1);
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
+    }
 
-        longPressSequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), center.getX(), center.getY()));
-        longPressSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        longPressSequence.addAction(new Pause(finger, pressDuration));
-        longPressSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        Point center = ElementCache.as(actor).use(target, element -> ElementGeometry.of(element)).center();
 
-        driver.perform(Collections.singletonList(longPressSequence));
-    }
+        PointerInput finger = composer.finger("finger");
 
-    private Point getElementCenter(WebElement element) {
-        Point location = element.getLocation();
-        int centerX = location.getX() + (element.getSize().getWidth() / 2);
-        int centerY = location.getY() + (element.getSize().getHeight() / 2);
-        return new Point(centerX, centerY);
+        composer.add(finger, finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), center.getX(), center.getY()));
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, new Pause(finger, pressDuration));
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
     public static LongPress on(Target target) {
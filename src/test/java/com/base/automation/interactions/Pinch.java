@@ -1,22 +1,20 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Arrays;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class Pinch implements Interaction {
+public class Pinch implements Interaction, Gesture {
 
     public enum Type {
         IN, OUT // Pinch in = zoom out, Pinch out = zoom in
@@ -43,12 +41,14 @@ public class Pinch implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        WebElement element = target.resolveFor(actor);
-        if (element == null) {
-            throw new RuntimeException("Elemento " + target.getName() + " no encontrado.");
-        }
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
+    }
 
-        Point center = getElementCenter(element);
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        Point center = ElementCache.as(actor).use(target, element -> ElementGeometry.of(element)).center();
 
         // Calcular posiciones iniciales y finales para los dos dedos
         Point finger1Start, finger1End, finger2Start, finger2End;
@@ -67,32 +67,20 @@ public class Pinch implements Interaction {
             finger2End = new Point(center.getX() + 10, center.getY() + 10);
         }
 
-        PointerInput finger1 = new PointerInput(PointerInput.Kind.TOUCH, "finger1");
-        PointerInput finger2 = new PointerInput(PointerInput.Kind.TOUCH, "finger2");
-
-        Sequence finger1Sequence = new Sequence(finger1, 1);
-        Sequence finger2Sequence = new Sequence(finger2, 1);
+        PointerInput finger1 = composer.finger("finger1");
+        PointerInput finger2 = composer.finger("finger2");
 
         // Finger 1
-        finger1Sequence.addAction(finger1.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), finger1Start.getX(), finger1Start.getY()));
-        finger1Sequence.addAction(finger1.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        finger1Sequence.addAction(finger1.createPointerMove(duration, PointerInput.Origin.viewport(), finger1End.getX(), finger1End.getY()));
-        finger1Sequence.addAction(finger1.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger1, finger1.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), finger1Start.getX(), finger1Start.getY()));
+        composer.add(finger1, finger1.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger1, finger1.createPointerMove(duration, PointerInput.Origin.viewport(), finger1End.getX(), finger1End.getY()));
+        composer.add(finger1, finger1.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
 
         // Finger 2
-        finger2Sequence.addAction(finger2.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), finger2Start.getX(), finger2Start.getY()));
-        finger2Sequence.addAction(finger2.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        finger2Sequence.addAction(finger2.createPointerMove(duration, PointerInput.Origin.viewport(), finger2End.getX(), finger2End.getY()));
-        finger2Sequence.addAction(finger2.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(Arrays.asList(finger1Sequence, finger2Sequence));
-    }
-
-    private Point getElementCenter(WebElement element) {
-        Point location = element.getLocation();
-        int centerX = location.getX() + (element.getSize().getWidth() / 2);
-        int centerY = location.getY() + (element.getSize().getHeight() / 2);
-        return new Point(centerX, centerY);
+        composer.add(finger2, finger2.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), finger2Start.getX(), finger2Start.getY()));
+        composer.add(finger2, finger2.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger2, finger2.createPointerMove(duration, PointerInput.Origin.viewport(), finger2End.getX(), finger2End.getY()));
+        composer.add(finger2, finger2.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
     public static Pinch in(Target target) {
@@ -0,0 +1,62 @@
+package com.base.automation.interactions;
+
+import com.base.automation.abilities.ScreenHierarchy;
+import net.serenitybdd.screenplay.targets.Target;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+/**
+ * Cómo reconocer una pantalla: la actividad (opcional) y los elementos ancla que siempre muestra.
+ * <p>
+ * Cada page object declara la suya una vez y {@link Wait#untilScreen(ScreenSignature)} la compara
+ * con la jerarquía sondeada, sin búsquedas en el dispositivo. Los localizadores de las anclas deben
+ * poder evaluarse sobre la jerarquía (accessibility id, id, clase, UiSelector o xpath).
+ */
+public class ScreenSignature {
+
+    private final String name;
+    private final String activity;
+    private final List<Target> anchors;
+
+    private ScreenSignature(String name, String activity, List<Target> anchors) {
+        this.name = name;
+        this.activity = activity;
+        this.anchors = anchors;
+    }
+
+    public static ScreenSignature named(String name) {
+        return new ScreenSignature(name, null, List.of());
+    }
+
+    /**
+     * Actividad esperada; basta con el final del nombre (p. ej. {@code .MainActivity}).
+     */
+    public ScreenSignature inActivity(String activity) {
+        return new ScreenSignature(name, activity, anchors);
+    }
+
+    public ScreenSignature anchoredBy(Target... anchors) {
+        return new ScreenSignature(name, activity, List.of(anchors));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    boolean matches(WebDriver driver, ScreenHierarchy hierarchy, String currentActivity) {
+        if (activity != null && (currentActivity == null || !currentActivity.endsWith(activity))) {
+            return false;
+        }
+        return anchors.stream().allMatch(anchor -> hierarchy.find(ElementProbe.locatorOf(driver, anchor))
+                .orElseThrow(() -> new IllegalStateException(String.format(
+                        "El ancla '%s' de la pantalla %s no se puede evaluar sobre la jerarquía", anchor.getName(), name)))
+                .stream()
+                .anyMatch(ScreenHierarchy.Node::displayed));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,23 @@
+package com.base.automation.interactions;
+
+import com.base.automation.abilities.ElementCache;
+import com.base.automation.abilities.ScreenSnapshot;
+
+/**
+ * Punto único para avisar de que la pantalla puede haber cambiado en el hilo actual.
+ * <p>
+ * Los gestos, la escritura y la navegación lo llaman al terminar; a su vez descarta todo lo que se
+ * cachea a partir del estado de la pantalla (geometría de elementos, jerarquía de la
+ * {@link ScreenSnapshot}, referencias de la {@link ElementCache}).
+ */
+public class ScreenState {
+
+    private ScreenState() {
+    }
+
+    public static void changed() {
+        ElementGeometry.invalidate();
+        ScreenSnapshot.invalidate();
+        ElementCache.invalidate();
+    }
+}
@@ -1,23 +1,20 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Collections;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class Scroll implements Interaction {
+public class Scroll implements Interaction, Gesture {
 
     public enum Direction {
         UP, DOWN, LEFT, RIGHT
@@ -48,68 +45,36 @@ public class Scroll implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        Point startPoint, endPoint;
-
-        if (container != null) {
-            // Scroll dentro de un contenedor específico
-            WebElement element = container.resolveFor(actor);
-            startPoint = calculateStartPoint(element);
-            endPoint = calculateEndPoint(element, startPoint);
-        } else {
-            // Scroll en toda la pantalla
-            Dimension screenSize = driver.manage().window().getSize();
-            startPoint = calculateScreenStartPoint(screenSize);
-            endPoint = calculateScreenEndPoint(screenSize, startPoint);
-        }
-
-        performScroll(driver, startPoint, endPoint);
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
     }
 
-    private Point calculateStartPoint(WebElement element) {
-        Point location = element.getLocation();
-        Dimension size = element.getSize();
-
-        int centerX = location.getX() + (size.getWidth() / 2);
-        int centerY = location.getY() + (size.getHeight() / 2);
-
-        return switch (direction) {
-            case UP -> new Point(centerX, location.getY() + (int) (size.getHeight() * 0.8));
-            case DOWN -> new Point(centerX, location.getY() + (int) (size.getHeight() * 0.2));
-            case LEFT -> new Point(location.getX() + (int) (size.getWidth() * 0.8), centerY);
-            case RIGHT -> new Point(location.getX() + (int) (size.getWidth() * 0.2), centerY);
-        };
-    }
-
-    private Point calculateEndPoint(WebElement element, Point startPoint) {
-        Point location = element.getLocation();
-        Dimension size = element.getSize();
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        // Scroll dentro de un contenedor específico o en toda la pantalla
+        ElementGeometry area = container != null
+                ? ElementCache.as(actor).use(container, element -> ElementGeometry.of(element))
+                : ElementGeometry.ofScreen(BrowseTheWeb.as(actor).getDriver());
 
-        int scrollDistance = (int) (direction == Direction.UP || direction == Direction.DOWN ?
-                size.getHeight() * scrollPercentage : size.getWidth() * scrollPercentage);
+        Point startPoint = calculateStartPoint(area);
+        Point endPoint = calculateEndPoint(area, startPoint);
 
-        return switch (direction) {
-            case UP -> new Point(startPoint.getX(), startPoint.getY() - scrollDistance);
-            case DOWN -> new Point(startPoint.getX(), startPoint.getY() + scrollDistance);
-            case LEFT -> new Point(startPoint.getX() - scrollDistance, startPoint.getY());
-            case RIGHT -> new Point(startPoint.getX() + scrollDistance, startPoint.getY());
-        };
+        composeScroll(composer, startPoint, endPoint);
     }
 
-    private Point calculateScreenStartPoint(Dimension screenSize) {
-        int centerX = screenSize.getWidth() / 2;
-        int centerY = screenSize.getHeight() / 2;
-
+    private Point calculateStartPoint(ElementGeometry area) {
         return switch (direction) {
-            case UP -> new Point(centerX, (int) (screenSize.getHeight() * 0.8));
-            case DOWN -> new Point(centerX, (int) (screenSize.getHeight() * 0.2));
-            case LEFT -> new Point((int) (screenSize.getWidth() * 0.8), centerY);
-            case RIGHT -> new Point((int) (screenSize.getWidth() * 0.2), centerY);
+            case UP -> area.pointAt(0.5, 0.8);
+            case DOWN -> area.pointAt(0.5, 0.2);
+            case LEFT -> area.pointAt(0.8, 0.5);
+            case RIGHT -> area.pointAt(0.2, 0.5);
         };
     }
 
-    private Point calculateScreenEndPoint(Dimension screenSize, Point startPoint) {
+    private Point calculateEndPoint(ElementGeometry area, Point startPoint) {
         int scrollDistance = (int) (direction == Direction.UP || direction == Direction.DOWN ?
-                screenSize.getHeight() * scrollPercentage : screenSize.getWidth() * scrollPercentage);
+                area.height() * scrollPercentage : area.width() * scrollPercentage);
 
         return switch (direction) {
             case UP -> new Point(startPoint.getX(), startPoint.getY() - scrollDistance);
@@ -119,16 +84,13 @@ public class Scroll implements Interaction {
         };
     }
 
-    private void performScroll(RemoteWebDriver driver, Point startPoint, Point endPoint) {
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence scrollSequence = new Sequence(finger, 1);
-
-        scrollSequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startPoint.getX(), startPoint.getY()));
-        scrollSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        scrollSequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), endPoint.getX(), endPoint.getY()));
-        scrollSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+    private void composeScroll(GestureComposer composer, Point startPoint, Point endPoint) {
+        PointerInput finger = composer.finger("finger");
 
-        driver.perform(Collections.singletonList(scrollSequence));
+        composer.add(finger, finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startPoint.getX(), startPoint.getY()));
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, finger.createPointerMove(duration, PointerInput.Origin.viewport(), endPoint.getX(), endPoint.getY()));
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
     // Factory methods
@@ -1,24 +1,31 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
+import io.appium.java_client.AppiumBy;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
 public class ScrollUntil implements Interaction {
 
+    private static final Logger logger = LoggerFactory.getLogger(ScrollUntil.class);
+
     public enum Direction {
         UP, DOWN, LEFT, RIGHT
     }
@@ -27,6 +34,15 @@ public class ScrollUntil implements Interaction {
         ELEMENT_VISIBLE, ELEMENT_CLICKABLE, ELEMENT_DISAPPEARS
     }
 
+    /**
+     * GESTURE sintetiza cada swipe desde Java; NATIVE delega toda la búsqueda al dispositivo con
+     * {@code UiScrollable.scrollIntoView} en un solo comando (recorre la lista desde el inicio,
+     * por lo que sólo distingue entre scroll vertical y horizontal).
+     */
+    public enum Engine {
+        GESTURE, NATIVE
+    }
+
     private final Direction direction;
     private final Target targetElement;
     private final StopCondition condition;
@@ -35,10 +51,14 @@ public class ScrollUntil implements Interaction {
     private final Duration scrollDuration;
     private final int maxScrollAttempts;
     private final Duration waitBetweenScrolls;
+    private final boolean detectEnd;
+    private final boolean reverseAtEnd;
+    private final Engine engine;
 
     public ScrollUntil(Direction direction, Target targetElement, StopCondition condition,
                        Target container, double scrollPercentage, Duration scrollDuration,
-                       int maxScrollAttempts, Duration waitBetweenScrolls) {
+                       int maxScrollAttempts, Duration waitBetweenScrolls,
+                       boolean detectEnd, boolean reverseAtEnd, Engine engine) {
         this.direction = direction;
         this.targetElement = targetElement;
         this.condition = condition;
@@ -47,6 +67,16 @@ public class ScrollUntil implements Interaction {
         this.scrollDuration = scrollDuration;
         this.maxScrollAttempts = maxScrollAttempts;
         this.waitBetweenScrolls = waitBetweenScrolls;
+        this.detectEnd = detectEnd;
+        this.reverseAtEnd = reverseAtEnd;
+        this.engine = engine;
+    }
+
+    public ScrollUntil(Direction direction, Target targetElement, StopCondition condition,
+                       Target container, double scrollPercentage, Duration scrollDuration,
+                       int maxScrollAttempts, Duration waitBetweenScrolls) {
+        this(direction, targetElement, condition, container, scrollPercentage, scrollDuration,
+                maxScrollAttempts, waitBetweenScrolls, false, false, Engine.GESTURE);
     }
 
     public ScrollUntil(Direction direction, Target targetElement, StopCondition condition) {
@@ -63,20 +93,75 @@ public class ScrollUntil implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
+        // Sin implicit wait: cada comprobación cuesta un findElements, no 10 s de espera
+        long start = System.currentTimeMillis();
+        int swipes = ElementProbe.withoutImplicitWait(driver, () -> engine == Engine.NATIVE
+                ? nativeSearch(driver, actor)
+                : search(driver, actor));
+        logger.debug("{} encontrado tras {} swipes en {} ms", targetElement.getName(), swipes,
+                System.currentTimeMillis() - start);
+    }
+
+    private int nativeSearch(RemoteWebDriver driver, Actor actor) {
+        Optional<String> target = condition == StopCondition.ELEMENT_DISAPPEARS
+                ? Optional.empty()
+                : UiSelectors.from(ElementProbe.locatorOf(driver, targetElement));
+        Optional<String> scrollable = container == null
+                ? Optional.of("new UiSelector().scrollable(true)")
+                : UiSelectors.from(ElementProbe.locatorOf(driver, container));
+
+        if (target.isEmpty() || scrollable.isEmpty()) {
+            logger.debug("{} no se puede expresar como UiSelector, se usa el motor de gestos", targetElement.getName());
+            return search(driver, actor);
+        }
+
+        boolean horizontal = direction == Direction.LEFT || direction == Direction.RIGHT;
+        String expression = "new UiScrollable(" + scrollable.get() + ")"
+                + (horizontal ? ".setAsHorizontalList()" : "")
+                + ".setMaxSearchSwipes(" + maxScrollAttempts + ")"
+                + ".scrollIntoView(" + target.get() + ")";
+
+        List<WebElement> found = driver.findElements(AppiumBy.androidUIAutomator(expression));
+        ScreenState.changed();
+
+        if (found.isEmpty() || !isConditionMet(actor)) {
+            throw new RuntimeException(String.format("Element %s not found by UiScrollable after %d swipes",
+                    targetElement.getName(), maxScrollAttempts));
+        }
+        return 0;
+    }
+
+    private int search(RemoteWebDriver driver, Actor actor) {
+        // El área de scroll no se mueve entre swipes: se mide una sola vez por búsqueda
+        ElementGeometry area = null;
+        Direction currentDirection = direction;
+        boolean reversed = false;
+        Integer previousFingerprint = null;
+
         for (int attempt = 0; attempt < maxScrollAttempts; attempt++) {
             if (isConditionMet(actor)) {
-                return; // Condición cumplida, salir
+                return attempt; // Condición cumplida, salir
             }
 
+            if (detectEnd && previousFingerprint == null) {
+                previousFingerprint = fingerprint(driver);
+            }
+
+            boolean swiped = false;
             try {
-                performSingleScroll(driver, actor);
+                if (area == null) {
+                    area = scrollArea(driver, actor);
+                }
+                performSingleScroll(driver, area, currentDirection);
+                swiped = true;
             } catch (Exception e) {
                 System.err.println("Error en intento de scroll " + (attempt + 1) + ": " + e.getMessage());
                 if (attempt == maxScrollAttempts - 1) {
                     // En el último intento, re-lanzar la excepción
                     throw new RuntimeException("Error en todos los intentos de scroll: " + e.getMessage(), e);
                 }
-                // Para otros intentos, continuar con el siguiente
+                // Para otros intentos, continuar con el siguiente; sin swipe no hay huellas que comparar
+                previousFingerprint = null;
             }
 
             try {
@@ -85,6 +170,22 @@ public class ScrollUntil implements Interaction {
                 Thread.currentThread().interrupt();
                 break;
             }
+
+            if (detectEnd && swiped) {
+                int fingerprint = fingerprint(driver);
+                if (previousFingerprint == fingerprint) {
+                    // La jerarquía no cambió con el último swipe: la lista llegó a su fin
+                    if (!reverseAtEnd || reversed) {
+                        throw new RuntimeException(String.format(
+                                "Reached end of list in direction %s after %d scroll attempts, %s not found",
+                                currentDirection, attempt + 1, targetElement.getName()));
+                    }
+                    reversed = true;
+                    currentDirection = opposite(currentDirection);
+                    logger.debug("Fin de la lista alcanzado, invirtiendo la búsqueda hacia {}", currentDirection);
+                }
+                previousFingerprint = fingerprint;
+            }
         }
 
         // Verificar condición final
@@ -94,84 +195,61 @@ public class ScrollUntil implements Interaction {
                             maxScrollAttempts, direction)
             );
         }
+        return maxScrollAttempts;
     }
 
     private boolean isConditionMet(Actor actor) {
         try {
-            WebElement element = targetElement.resolveFor(actor);
-
-            return switch (condition) {
+            // Antes del primer swipe el elemento puede estar ya resuelto (p. ej. por un Wait previo)
+            return ElementCache.as(actor).useIfPresent(targetElement, element -> switch (condition) {
                 case ELEMENT_VISIBLE -> element.isDisplayed();
                 case ELEMENT_CLICKABLE -> element.isDisplayed() && element.isEnabled();
                 case ELEMENT_DISAPPEARS -> false; // Si llegamos aquí, el elemento existe
-            };
+            }).orElse(condition == StopCondition.ELEMENT_DISAPPEARS);
         } catch (Exception e) {
-            // El elemento no se encuentra
+            // El elemento desapareció entre la búsqueda y la comprobación
             return condition == StopCondition.ELEMENT_DISAPPEARS;
         }
     }
 
-    private void performSingleScroll(RemoteWebDriver driver, Actor actor) {
-        Point startPoint, endPoint;
-
-        if (container != null) {
-            WebElement element = container.resolveFor(actor);
-            startPoint = calculateStartPoint(element);
-            endPoint = calculateEndPoint(element, startPoint);
-        } else {
-            Dimension screenSize = driver.manage().window().getSize();
-            startPoint = calculateScreenStartPoint(screenSize);
-            endPoint = calculateScreenEndPoint(screenSize, startPoint);
-        }
-
-        performScroll(driver, startPoint, endPoint);
+    private ElementGeometry scrollArea(RemoteWebDriver driver, Actor actor) {
+        return container != null
+                ? ElementCache.as(actor).use(container, element -> ElementGeometry.of(element))
+                : ElementGeometry.ofScreen(driver);
     }
 
-    private Point calculateStartPoint(WebElement element) {
-        Point location = element.getLocation();
-        Dimension size = element.getSize();
-
-        int centerX = location.getX() + (size.getWidth() / 2);
-        int centerY = location.getY() + (size.getHeight() / 2);
+    private int fingerprint(RemoteWebDriver driver) {
+        return driver.getPageSource().hashCode();
+    }
 
+    private static Direction opposite(Direction direction) {
         return switch (direction) {
-            case UP -> new Point(centerX, location.getY() + (int) (size.getHeight() * 0.8));
-            case DOWN -> new Point(centerX, location.getY() + (int) (size.getHeight() * 0.2));
-            case LEFT -> new Point(location.getX() + (int) (size.getWidth() * 0.8), centerY);
-            case RIGHT -> new Point(location.getX() + (int) (size.getWidth() * 0.2), centerY);
+            case UP -> Direction.DOWN;
+            case DOWN -> Direction.UP;
+            case LEFT -> Direction.RIGHT;
+            case RIGHT -> Direction.LEFT;
         };
     }
 
-    private Point calculateEndPoint(WebElement element, Point startPoint) {
-        Point location = element.getLocation();
-        Dimension size = element.getSize();
+    private void performSingleScroll(RemoteWebDriver driver, ElementGeometry area, Direction direction) {
+        Point startPoint = calculateStartPoint(area, direction);
+        Point endPoint = calculateEndPoint(area, startPoint, direction);
 
-        int scrollDistance = (int) (direction == Direction.UP || direction == Direction.DOWN ?
-                size.getHeight() * scrollPercentage : size.getWidth() * scrollPercentage);
-
-        return switch (direction) {
-            case UP -> new Point(startPoint.getX(), startPoint.getY() - scrollDistance);
-            case DOWN -> new Point(startPoint.getX(), startPoint.getY() + scrollDistance);
-            case LEFT -> new Point(startPoint.getX() - scrollDistance, startPoint.getY());
-            case RIGHT -> new Point(startPoint.getX() + scrollDistance, startPoint.getY());
-        };
+        performScroll(driver, startPoint, endPoint);
     }
 
-    private Point calculateScreenStartPoint(Dimension screenSize) {
-        int centerX = screenSize.getWidth() / 2;
-        int centerY = screenSize.getHeight() / 2;
-
+    private Point calculateStartPoint(ElementGeometry area, Direction direction) {
         return switch (direction) {
-            case UP -> new Point(centerX, (int) (screenSize.getHeight() * 0.8));
-            case DOWN -> new Point(centerX, (int) (screenSize.getHeight() * 0.2));
-            case LEFT -> new Point((int) (screenSize.getWidth() * 0.8), centerY);
-            case RIGHT -> new Point((int) (screenSize.getWidth() * 0.2), centerY);
+            case UP -> area.pointAt(0.5, 0.8);
+            case DOWN -> area.pointAt(0.5, 0.2);
+            case LEFT -> area.pointAt(0.8, 0.5);
+            case RIGHT -> area.pointAt(0.2, 0.5);
         };
     }
 
-    private Point calculateScreenEndPoint(Dimension screenSize, Point startPoint) {
+    private Point calculateEndPoint(ElementGeometry area, Point startPoint, Direction direction) {
         int scrollDistance = (int) (direction == Direction.UP || direction == Direction.DOWN ?
-                screenSize.getHeight() * scrollPercentage : screenSize.getWidth() * scrollPercentage);
+                area.height() * scrollPercentage : area.width() * scrollPercentage);
 
         return switch (direction) {
             case UP -> new Point(startPoint.getX(), startPoint.getY() - scrollDistance);
@@ -191,6 +269,7 @@ public class ScrollUntil implements Interaction {
         scrollSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
 
         driver.perform(Collections.singletonList(scrollSequence));
+        ScreenState.changed();
     }
 
     // Factory methods básicos
@@ -250,6 +329,9 @@ public class ScrollUntil implements Interaction {
         private Duration scrollDuration = Duration.ofMillis(200);
         private int maxScrollAttempts = 10;
         private Duration waitBetweenScrolls = Duration.ofMillis(80);
+        private boolean detectEnd = false;
+        private boolean reverseAtEnd = false;
+        private Engine engine = Engine.GESTURE;
 
         public ScrollUntilBuilder direction(Direction direction) {
             this.direction = direction;
@@ -291,12 +373,36 @@ public class ScrollUntil implements Interaction {
             return this;
         }
 
+        /**
+         * Compara el page source antes y después de cada swipe para detectar el fin de la lista.
+         * Cuesta un {@code getPageSource()} por swipe, por eso está desactivado por defecto;
+         * compensa en listas largas en las que el elemento puede no estar.
+         */
+        public ScrollUntilBuilder detectEnd(boolean detectEnd) {
+            this.detectEnd = detectEnd;
+            return this;
+        }
+
+        /**
+         * Al llegar al fin de la lista, da la vuelta una vez; activa también {@link #detectEnd}.
+         */
+        public ScrollUntilBuilder reverseAtEnd(boolean reverseAtEnd) {
+            this.reverseAtEnd = reverseAtEnd;
+            this.detectEnd |= reverseAtEnd;
+            return this;
+        }
+
+        public ScrollUntilBuilder engine(Engine engine) {
+            this.engine = engine;
+            return this;
+        }
+
         public ScrollUntil build() {
             if (targetElement == null) {
                 throw new IllegalArgumentException("Target element is required");
             }
             return instrumented(ScrollUntil.class, direction, targetElement, condition, container,
-                    scrollPercentage, scrollDuration, maxScrollAttempts, waitBetweenScrolls);
+                    scrollPercentage, scrollDuration, maxScrollAttempts, waitBetweenScrolls, detectEnd, reverseAtEnd, engine);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.base.automation.interactions;
+
+import com.base.automation.utils.CommandMetrics;
+import com.base.automation.utils.Config;
+import com.base.automation.utils.WaitMetrics;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.HasSettings;
+import io.appium.java_client.Setting;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Sincronización en el lado del dispositivo mediante los settings de UiAutomator2.
+ * <p>
+ * En lugar de sondear por HTTP, se amplía {@code waitForIdleTimeout} o {@code waitForSelectorTimeout}
+ * durante un único comando y el servidor espera localmente a que la UI quede en reposo o a que
+ * aparezca el selector. Cada espera cuesta tres comandos (ajustar, esperar, restaurar) sin importar
+ * cuánto tarde la UI. Los valores de la suite se fijan como capabilities {@code settings[...]} al
+ * crear la sesión, sin comandos adicionales.
+ */
+public class ServerSideSync {
+
+    public static final Duration SUITE_IDLE_TIMEOUT =
+            Config.getMillis("automation.uiautomator2.wait.for.idle.timeout", Duration.ofMillis(10000));
+    public static final Duration SUITE_SELECTOR_TIMEOUT =
+            Config.getMillis("automation.uiautomator2.wait.for.selector.timeout", Duration.ofMillis(10000));
+    public static final boolean ENABLED_BY_DEFAULT = Config.getBoolean("automation.wait.server.side", false);
+
+    // Selector barato: UiAutomator2 espera al reposo de la UI antes de resolver cualquier búsqueda
+    private static final String ANY_NODE = "new UiSelector().index(0)";
+
+    private ServerSideSync() {
+    }
+
+    public static void applySuiteSettings(UiAutomator2Options options) {
+        options.setCapability("appium:settings[waitForIdleTimeout]", SUITE_IDLE_TIMEOUT.toMillis());
+        options.setCapability("appium:settings[waitForSelectorTimeout]", SUITE_SELECTOR_TIMEOUT.toMillis());
+    }
+
+    public static boolean isSupportedBy(WebDriver driver) {
+        return driver instanceof HasSettings;
+    }
+
+    public static void untilIdle(WebDriver driver, Duration timeout) {
+        long start = System.nanoTime();
+        long sentBefore = CommandMetrics.sentByCurrentThread();
+        withSetting(driver, Setting.WAIT_FOR_IDLE_TIMEOUT, timeout, SUITE_IDLE_TIMEOUT,
+                () -> driver.findElements(AppiumBy.androidUIAutomator(ANY_NODE)));
+        WaitMetrics.recordSatisfied("IDLE", Duration.ofNanos(System.nanoTime() - start));
+        WaitMetrics.recordAttempts("IDLE", 1);
+        WaitMetrics.recordCommands("IDLE", CommandMetrics.sentByCurrentThread() - sentBefore);
+    }
+
+    public static WebElement waitForSelector(WebDriver driver, String uiSelector, Duration timeout, String conditionName) {
+        long start = System.nanoTime();
+        long sentBefore = CommandMetrics.sentByCurrentThread();
+        List<WebElement> elements = withSetting(driver, Setting.WAIT_FOR_SELECTOR_TIMEOUT, timeout, SUITE_SELECTOR_TIMEOUT,
+                () -> driver.findElements(AppiumBy.androidUIAutomator(uiSelector)));
+        WaitMetrics.recordAttempts(conditionName, 1);
+        WaitMetrics.recordCommands(conditionName, CommandMetrics.sentByCurrentThread() - sentBefore);
+
+        if (elements.isEmpty()) {
+            WaitMetrics.recordTimeout(conditionName);
+            throw new TimeoutException(String.format("Condición '%s' no cumplida en el servidor tras %d ms",
+                    conditionName, timeout.toMillis()));
+        }
+        WaitMetrics.recordSatisfied(conditionName, Duration.ofNanos(System.nanoTime() - start));
+        return elements.get(0);
+    }
+
+    private static <R> R withSetting(WebDriver driver, Setting setting, Duration value, Duration restoreTo, Supplier<R> action) {
+        HasSettings settings = (HasSettings) driver;
+        settings.setSetting(setting, value.toMillis());
+        try {
+            return ElementProbe.withoutImplicitWait(driver, action);
+        } finally {
+            settings.setSetting(setting, restoreTo.toMillis());
+        }
+    }
+}
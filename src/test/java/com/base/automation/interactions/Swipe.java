@@ -3,19 +3,16 @@ package com.base.automation.interactions;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
-import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Collections;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class Swipe implements Interaction {
+public class Swipe implements Interaction, Gesture {
 
     public enum Direction {
         UP, DOWN, LEFT, RIGHT
@@ -40,36 +37,37 @@ public class Swipe implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        Dimension screenSize = driver.manage().window().getSize();
-        Point startPoint = calculateStartPoint(screenSize);
-        Point endPoint = calculateEndPoint(screenSize, startPoint);
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
+    }
 
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence swipeSequence = new Sequence(finger, 1);
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        ElementGeometry screen = ElementGeometry.ofScreen(BrowseTheWeb.as(actor).getDriver());
+        Point startPoint = calculateStartPoint(screen);
+        Point endPoint = calculateEndPoint(screen, startPoint);
 
-        swipeSequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startPoint.getX(), startPoint.getY()));
-        swipeSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        swipeSequence.addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), endPoint.getX(), endPoint.getY()));
-        swipeSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        PointerInput finger = composer.finger("finger");
 
-        driver.perform(Collections.singletonList(swipeSequence));
+        composer.add(finger, finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startPoint.getX(), startPoint.getY()));
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, finger.createPointerMove(duration, PointerInput.Origin.viewport(), endPoint.getX(), endPoint.getY()));
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
-    private Point calculateStartPoint(Dimension screenSize) {
-        int centerX = screenSize.getWidth() / 2;
-        int centerY = screenSize.getHeight() / 2;
-
+    private Point calculateStartPoint(ElementGeometry screen) {
         return switch (direction) {
-            case UP -> new Point(centerX, (int) (screenSize.getHeight() * 0.8));
-            case DOWN -> new Point(centerX, (int) (screenSize.getHeight() * 0.2));
-            case LEFT -> new Point((int) (screenSize.getWidth() * 0.8), centerY);
-            case RIGHT -> new Point((int) (screenSize.getWidth() * 0.2), centerY);
+            case UP -> screen.pointAt(0.5, 0.8);
+            case DOWN -> screen.pointAt(0.5, 0.2);
+            case LEFT -> screen.pointAt(0.8, 0.5);
+            case RIGHT -> screen.pointAt(0.2, 0.5);
         };
     }
 
-    private Point calculateEndPoint(Dimension screenSize, Point startPoint) {
+    private Point calculateEndPoint(ElementGeometry screen, Point startPoint) {
         int swipeDistance = (int) (direction == Direction.UP || direction == Direction.DOWN ?
-                screenSize.getHeight() * swipePercentage : screenSize.getWidth() * swipePercentage);
+                screen.height() * swipePercentage : screen.width() * swipePercentage);
 
         return switch (direction) {
             case UP -> new Point(startPoint.getX(), startPoint.getY() - swipeDistance);
@@ -1,5 +1,6 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
@@ -8,16 +9,13 @@ import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
-import java.util.Collections;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
-public class TapOn implements Interaction {
+public class TapOn implements Interaction, Gesture {
     private final Target target;
 
     public TapOn(Target target) {
@@ -29,27 +27,21 @@ public class TapOn implements Interaction {
         WebDriver facadeDriver = BrowseTheWeb.as(actor).getDriver();
         RemoteWebDriver driver = (RemoteWebDriver) facadeDriver;
 
-        WebElement element = target.resolveFor(actor);
-
-        if (element == null) {
-            throw new RuntimeException("Elemento " + target.getName() + " no encontrado.");
-        }
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform(driver);
+    }
 
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
         // Calcula coordenadas del centro del elemento
-        Point location = element.getLocation();
-        int width = element.getSize().getWidth();
-        int height = element.getSize().getHeight();
-        int centerX = location.getX() + (width / 2);
-        int centerY = location.getY() + (height / 2);
-
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence tapSequence = new Sequence(finger, 1);
-        tapSequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), centerX, centerY));
-        tapSequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        tapSequence.addAction(new Pause(finger, Duration.ofMillis(100)));  // Pausa corta para simular toque
-        tapSequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(Collections.singletonList(tapSequence));
+        Point center = ElementCache.as(actor).use(target, element -> ElementGeometry.of(element)).center();
+
+        PointerInput finger = composer.finger("finger");
+        composer.add(finger, finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), center.getX(), center.getY()));
+        composer.add(finger, finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        composer.add(finger, new Pause(finger, Duration.ofMillis(100)));  // Pausa corta para simular toque
+        composer.add(finger, finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
     }
 
     public static TapOn the(Target target) {
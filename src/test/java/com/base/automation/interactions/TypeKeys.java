@@ -0,0 +1,41 @@
+package com.base.automation.interactions;
+
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openqa.selenium.interactions.KeyInput;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import static net.serenitybdd.screenplay.Tasks.instrumented;
+
+/**
+ * Teclea texto en el campo con foco mediante acciones W3C de teclado; pensado para encadenarse
+ * tras un {@link TapOn} dentro de un {@link GestureBatch}.
+ */
+public class TypeKeys implements Interaction, Gesture {
+    private final String text;
+
+    public TypeKeys(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        GestureComposer composer = new GestureComposer();
+        compose(actor, composer);
+        composer.perform((RemoteWebDriver) BrowseTheWeb.as(actor).getDriver());
+    }
+
+    @Override
+    public void compose(Actor actor, GestureComposer composer) {
+        KeyInput keyboard = composer.keyboard();
+        text.codePoints().forEach(codePoint -> {
+            composer.add(keyboard, keyboard.createKeyDown(codePoint));
+            composer.add(keyboard, keyboard.createKeyUp(codePoint));
+        });
+    }
+
+    public static TypeKeys text(String text) {
+        return instrumented(TypeKeys.class, text);
+    }
+}
@@ -0,0 +1,79 @@
+package com.base.automation.interactions;
+
+import org.openqa.selenium.By;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traduce localizadores de Selenium/Appium a expresiones {@code UiSelector} de UiAutomator.
+ * <p>
+ * Sólo se traducen las formas que tienen un equivalente exacto: accessibility id, resource-id,
+ * expresiones UiSelector ya escritas y xpaths simples del tipo
+ * {@code //clase[@text="..."]}, {@code [@content-desc=...]} o {@code [@resource-id=...]}.
+ * Para el resto se devuelve vacío y el llamador debe usar su camino genérico.
+ */
+public class UiSelectors {
+
+    private static final Pattern SIMPLE_XPATH = Pattern.compile(
+            "^//([\\w.]+|\\*)(?:\\[@(text|content-desc|resource-id)=([\"'])(.*?)\\3])?$");
+
+    private UiSelectors() {
+    }
+
+    public static Optional<String> from(By locator) {
+        String using;
+        String value;
+
+        if (locator instanceof By.Remotable remotable) {
+            using = remotable.getRemoteParameters().using();
+            value = String.valueOf(remotable.getRemoteParameters().value());
+        } else if (locator.toString().startsWith("By.id: ")) {
+            using = "id";
+            value = locator.toString().substring("By.id: ".length());
+        } else {
+            return Optional.empty();
+        }
+
+        return switch (using) {
+            case "accessibility id" -> Optional.of(selector("description", value));
+            case "id" -> Optional.of(value.contains(":id/")
+                    ? selector("resourceId", value)
+                    : selector("resourceIdMatches", ".*:id/" + value));
+            case "-android uiautomator" -> value.startsWith("new UiSelector()")
+                    ? Optional.of(value) : Optional.empty();
+            case "xpath" -> fromXPath(value);
+            default -> Optional.empty();
+        };
+    }
+
+    private static Optional<String> fromXPath(String xpath) {
+        Matcher matcher = SIMPLE_XPATH.matcher(xpath.trim());
+        if (!matcher.matches() || (matcher.group(1).equals("*") && matcher.group(2) == null)) {
+            return Optional.empty();
+        }
+
+        StringBuilder selector = new StringBuilder("new UiSelector()");
+        if (!matcher.group(1).equals("*")) {
+            selector.append(".className(").append(quote(matcher.group(1))).append(")");
+        }
+        if (matcher.group(2) != null) {
+            String method = switch (matcher.group(2)) {
+                case "text" -> "text";
+                case "content-desc" -> "description";
+                default -> "resourceId";
+            };
+            selector.append(".").append(method).append("(").append(quote(matcher.group(4))).append(")");
+        }
+        return Optional.of(selector.toString());
+    }
+
+    private static String selector(String method, String value) {
+        return "new UiSelector()." + method + "(" + quote(value) + ")";
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -1,17 +1,28 @@
 package com.base.automation.interactions;
 
+import com.base.automation.abilities.ElementCache;
+import com.base.automation.abilities.ScreenHierarchy;
+import com.base.automation.abilities.ScreenSnapshot;
+import com.base.automation.utils.ConditionPoller;
+import com.base.automation.utils.Config;
+import com.base.automation.utils.PollingStrategy;
+import com.base.automation.utils.WaitMetrics;
+import io.appium.java_client.android.StartsActivity;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.Interaction;
+import net.serenitybdd.screenplay.Performable;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.targets.Target;
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
@@ -24,19 +35,74 @@ public class Wait implements Interaction {
         ELEMENT_INVISIBLE,
         ELEMENT_SELECTED,
         TEXT_TO_BE_PRESENT,
+        ANY_PRESENT,
+        ALL_PRESENT,
+        IDLE,
+        SCREEN_CHANGED,
+        SCREEN_MATCHES,
         FIXED_TIME
     }
 
+    // Bastan los niveles de los contenedores de pantalla; el contenido de listas y celdas queda fuera
+    private static final int DIGEST_DEPTH = Config.getInt("automation.screen.digest.depth", 8);
+
+    // Última pantalla estable del escenario en curso; se descarta con clear() al terminar
+    private static final ThreadLocal<ScreenDigest> lastSettled = new ThreadLocal<>();
+
     private final Condition condition;
     private final Target target;
+    private final List<Target> targets;
     private final Duration timeout;
     private final String expectedText;
-
-    public Wait(Condition condition, Target target, Duration timeout, String expectedText) {
+    private final PollingStrategy polling;
+    private final boolean serverSide;
+    private final ScreenSignature signature;
+    private final Performable trigger;
+
+    public Wait(Condition condition, Target target, List<Target> targets, Duration timeout,
+                String expectedText, PollingStrategy polling, boolean serverSide, ScreenSignature signature,
+                Performable trigger) {
         this.condition = condition;
         this.target = target;
+        this.targets = targets;
         this.timeout = timeout;
         this.expectedText = expectedText;
+        this.polling = polling;
+        this.serverSide = serverSide;
+        this.signature = signature;
+        this.trigger = trigger;
+    }
+
+    public Wait(Condition condition, Target target, List<Target> targets, Duration timeout,
+                String expectedText, PollingStrategy polling, boolean serverSide) {
+        this(condition, target, targets, timeout, expectedText, polling, serverSide, null, null);
+    }
+
+    public Wait(Condition condition, ScreenSignature signature, Duration timeout) {
+        this(condition, null, List.of(), timeout, null, PollingStrategy.defaults(),
+                ServerSideSync.ENABLED_BY_DEFAULT, signature, null);
+    }
+
+    public Wait(Condition condition, Performable trigger, Duration timeout) {
+        this(condition, null, List.of(), timeout, null, PollingStrategy.defaults(),
+                ServerSideSync.ENABLED_BY_DEFAULT, null, trigger);
+    }
+
+    public Wait(Condition condition, Target target, List<Target> targets, Duration timeout,
+                String expectedText, PollingStrategy polling) {
+        this(condition, target, targets, timeout, expectedText, polling, ServerSideSync.ENABLED_BY_DEFAULT);
+    }
+
+    public Wait(Condition condition, Target target, Duration timeout, String expectedText, PollingStrategy polling) {
+        this(condition, target, target == null ? List.of() : List.of(target), timeout, expectedText, polling);
+    }
+
+    public Wait(Condition condition, List<Target> targets, Duration timeout) {
+        this(condition, null, targets, timeout, null, PollingStrategy.defaults());
+    }
+
+    public Wait(Condition condition, Target target, Duration timeout, String expectedText) {
+        this(condition, target, timeout, expectedText, PollingStrategy.defaults());
     }
 
     public Wait(Condition condition, Target target, Duration timeout) {
@@ -63,6 +129,11 @@ public class Wait implements Interaction {
             case ELEMENT_INVISIBLE -> waitForElementInvisible(driver, actor);
             case ELEMENT_SELECTED -> waitForElementSelected(driver, actor);
             case TEXT_TO_BE_PRESENT -> waitForTextToBePresent(driver, actor);
+            case ANY_PRESENT -> waitForAnyPresent(driver);
+            case ALL_PRESENT -> waitForAllPresent(driver);
+            case IDLE -> waitForIdle(driver);
+            case SCREEN_CHANGED -> waitForScreenChange(driver, actor);
+            case SCREEN_MATCHES -> waitForScreen(driver, actor);
             case FIXED_TIME -> waitFixedTime();
         }
     }
@@ -72,8 +143,16 @@ public class Wait implements Interaction {
             throw new IllegalArgumentException("Target is required for ELEMENT_VISIBLE condition");
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(ExpectedConditions.visibilityOf(target.resolveFor(actor)));
+        long start = System.nanoTime();
+        Optional<WebElement> found = waitOnServer(driver, actor);
+        if (found.isPresent() && found.get().isDisplayed()) {
+            return;
+        }
+
+        poll(driver, remainingSince(start), () -> {
+            WebElement element = firstElement(driver, actor);
+            return element != null && element.isDisplayed();
+        });
     }
 
     private void waitForElementClickable(RemoteWebDriver driver, Actor actor) {
@@ -81,8 +160,10 @@ public class Wait implements Interaction {
             throw new IllegalArgumentException("Target is required for ELEMENT_CLICKABLE condition");
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(ExpectedConditions.elementToBeClickable(target.resolveFor(actor)));
+        poll(driver, () -> {
+            WebElement element = firstElement(driver, actor);
+            return element != null && element.isDisplayed() && element.isEnabled();
+        });
     }
 
     private void waitForElementPresent(RemoteWebDriver driver, Actor actor) {
@@ -90,8 +171,29 @@ public class Wait implements Interaction {
             throw new IllegalArgumentException("Target is required for ELEMENT_PRESENT condition");
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.id(target.getCssOrXPathSelector())));
+        long start = System.nanoTime();
+        if (waitOnServer(driver, actor).isPresent()) {
+            return;
+        }
+
+        poll(driver, remainingSince(start), () -> firstElement(driver, actor) != null);
+    }
+
+    private void waitForAnyPresent(RemoteWebDriver driver) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one target is required for ANY_PRESENT condition");
+        }
+
+        poll(driver, () -> targets.stream().anyMatch(each -> ElementProbe.isPresent(driver, each)));
+    }
+
+    private void waitForAllPresent(RemoteWebDriver driver) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one target is required for ALL_PRESENT condition");
+        }
+
+        // Un solo bucle de sondeo para toda la pantalla en lugar de N esperas consecutivas
+        poll(driver, () -> targets.stream().allMatch(each -> ElementProbe.isPresent(driver, each)));
     }
 
     private void waitForElementInvisible(RemoteWebDriver driver, Actor actor) {
@@ -99,8 +201,10 @@ public class Wait implements Interaction {
             throw new IllegalArgumentException("Target is required for ELEMENT_INVISIBLE condition");
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(ExpectedConditions.invisibilityOf(target.resolveFor(actor)));
+        poll(driver, () -> {
+            WebElement element = firstElement(driver, actor);
+            return element == null || !element.isDisplayed();
+        });
     }
 
     private void waitForElementSelected(RemoteWebDriver driver, Actor actor) {
@@ -108,8 +212,10 @@ public class Wait implements Interaction {
             throw new IllegalArgumentException("Target is required for ELEMENT_SELECTED condition");
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(ExpectedConditions.elementToBeSelected(target.resolveFor(actor)));
+        poll(driver, () -> {
+            WebElement element = firstElement(driver, actor);
+            return element != null && element.isSelected();
+        });
     }
 
     private void waitForTextToBePresent(RemoteWebDriver driver, Actor actor) {
@@ -117,11 +223,77 @@ public class Wait implements Interaction {
             throw new IllegalArgumentException("Target and expectedText are required for TEXT_TO_BE_PRESENT condition");
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(ExpectedConditions.textToBePresentInElement(target.resolveFor(actor), expectedText));
+        poll(driver, () -> {
+            WebElement element = firstElement(driver, actor);
+            return element != null && element.getText().contains(expectedText);
+        });
+    }
+
+    private void waitForIdle(RemoteWebDriver driver) {
+        if (!ServerSideSync.isSupportedBy(driver)) {
+            throw new IllegalStateException("IDLE condition requires a driver with Appium settings support");
+        }
+
+        ServerSideSync.untilIdle(driver, timeout);
+    }
+
+    // La referencia es la pantalla antes de la acción, si la espera la ejecuta, o al empezar a esperar
+    private void waitForScreenChange(RemoteWebDriver driver, Actor actor) {
+        ScreenDigest baseline = read(driver, ScreenSnapshot.as(actor));
+        if (trigger != null) {
+            actor.attemptsTo(trigger);
+        }
+        settle(driver, actor, false, (digest, hierarchy) -> !digest.equals(baseline));
+    }
+
+    private void waitForScreen(RemoteWebDriver driver, Actor actor) {
+        if (signature == null) {
+            throw new IllegalArgumentException("Screen signature is required for SCREEN_MATCHES condition");
+        }
+
+        settle(driver, actor, true, (digest, hierarchy) -> signature.matches(driver, hierarchy, digest.activity()));
+    }
+
+    // Sondea la jerarquía hasta que cumple la condición y no cambia entre dos lecturas seguidas
+    private void settle(RemoteWebDriver driver, Actor actor, boolean reuseSettled,
+                        BiPredicate<ScreenDigest, ScreenHierarchy> accepted) {
+        ScreenSnapshot snapshot = ScreenSnapshot.as(actor);
+        ScreenDigest known = lastSettled.get();
+        if (reuseSettled && known != null && snapshot.isCurrent() && accepted.test(known, snapshot.hierarchy())) {
+            // Nada ha cambiado desde la última pantalla estable y ya cumple la condición
+            return;
+        }
+
+        ScreenDigest[] previous = new ScreenDigest[1];
+        String conditionName = condition + (signature != null ? " " + signature.name() : "");
+
+        ScreenDigest settled = ConditionPoller.until(conditionName, timeout, polling, () -> {
+            ScreenDigest current = read(driver, snapshot);
+            boolean stable = current.equals(previous[0]);
+            previous[0] = current;
+            return stable && accepted.test(current, snapshot.hierarchy()) ? current : null;
+        });
+        lastSettled.set(settled);
+    }
+
+    private static ScreenDigest read(RemoteWebDriver driver, ScreenSnapshot snapshot) {
+        ScreenHierarchy hierarchy = snapshot.refresh();
+        return new ScreenDigest(currentActivity(driver), hierarchy.digest(DIGEST_DEPTH));
+    }
+
+    /**
+     * Olvida la última pantalla estable del hilo; se llama al terminar cada escenario.
+     */
+    public static void clear() {
+        lastSettled.remove();
+    }
+
+    private static String currentActivity(WebDriver driver) {
+        return driver instanceof StartsActivity activities ? activities.currentActivity() : null;
     }
 
     private void waitFixedTime() {
+        WaitMetrics.recordFixedSleep(callSite(), timeout);
         try {
             Thread.sleep(timeout.toMillis());
         } catch (InterruptedException e) {
@@ -130,6 +302,52 @@ public class Wait implements Interaction {
         }
     }
 
+    // Sondeo adaptativo sin implicit wait: responde en cuanto la condición se cumple
+    private <R> R poll(RemoteWebDriver driver, Supplier<R> probe) {
+        return poll(driver, timeout, probe);
+    }
+
+    private <R> R poll(RemoteWebDriver driver, Duration limit, Supplier<R> probe) {
+        String conditionName = condition + " " + targets.stream().map(Target::getName).collect(Collectors.joining("|"));
+        return ElementProbe.withoutImplicitWait(driver,
+                () -> ConditionPoller.until(conditionName, limit, polling, probe));
+    }
+
+    // Lo que queda del timeout tras la espera en el servidor; agotado, el sondeo comprueba una sola vez
+    private Duration remainingSince(long startNanos) {
+        Duration remaining = timeout.minusNanos(System.nanoTime() - startNanos);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    // Espera en el dispositivo cuando está activada y el localizador tiene equivalente UiSelector
+    private Optional<WebElement> waitOnServer(RemoteWebDriver driver, Actor actor) {
+        if (!serverSide || !ServerSideSync.isSupportedBy(driver)) {
+            return Optional.empty();
+        }
+
+        return UiSelectors.from(ElementProbe.locatorOf(driver, target))
+                .map(selector -> ServerSideSync.waitForSelector(driver, selector, timeout,
+                        condition + " " + target.getName()))
+                .map(element -> ElementCache.as(actor).remember(target, element));
+    }
+
+    // Siempre busca de nuevo, pero deja el elemento encontrado a la interacción que siga a la espera
+    private WebElement firstElement(RemoteWebDriver driver, Actor actor) {
+        List<WebElement> elements = ElementProbe.findAll(driver, target);
+        return elements.isEmpty() ? null : ElementCache.as(actor).remember(target, elements.get(0));
+    }
+
+    // Primer punto del proyecto fuera de las interacciones que pidió la espera fija
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.base.automation.")
+                        && !frame.getClassName().startsWith("com.base.automation.interactions."))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("desconocido"));
+    }
+
     // Factory methods básicos
     public static Wait forSeconds(int seconds) {
         return instrumented(Wait.class, Duration.ofSeconds(seconds));
@@ -192,6 +410,63 @@ public class Wait implements Interaction {
         return instrumented(Wait.class, Condition.TEXT_TO_BE_PRESENT, element, timeout, text);
     }
 
+    public static Wait untilIdle() {
+        return instrumented(Wait.class, Condition.IDLE, Duration.ofSeconds(10));
+    }
+
+    public static Wait untilIdle(Duration timeout) {
+        return instrumented(Wait.class, Condition.IDLE, timeout);
+    }
+
+    public static Wait untilAnyPresent(Target... elements) {
+        return instrumented(Wait.class, Condition.ANY_PRESENT, List.of(elements), Duration.ofSeconds(10));
+    }
+
+    public static Wait untilAnyPresent(Duration timeout, Target... elements) {
+        return instrumented(Wait.class, Condition.ANY_PRESENT, List.of(elements), timeout);
+    }
+
+    public static Wait untilAllPresent(Target... elements) {
+        return instrumented(Wait.class, Condition.ALL_PRESENT, List.of(elements), Duration.ofSeconds(10));
+    }
+
+    public static Wait untilAllPresent(Duration timeout, Target... elements) {
+        return instrumented(Wait.class, Condition.ALL_PRESENT, List.of(elements), timeout);
+    }
+
+    // Factory methods para transiciones de pantalla
+
+    /**
+     * Espera a una pantalla estable distinta de la que hay al empezar a esperar. Si la transición
+     * pudo terminar antes de la espera, es más fiable {@link #untilScreenChangesAfter(Performable)}.
+     */
+    public static Wait untilScreenChanges() {
+        return instrumented(Wait.class, Condition.SCREEN_CHANGED, Duration.ofSeconds(10));
+    }
+
+    public static Wait untilScreenChanges(Duration timeout) {
+        return instrumented(Wait.class, Condition.SCREEN_CHANGED, timeout);
+    }
+
+    /**
+     * Lee la pantalla, ejecuta la acción y espera a una pantalla estable distinta de la leída.
+     */
+    public static Wait untilScreenChangesAfter(Performable action) {
+        return instrumented(Wait.class, Condition.SCREEN_CHANGED, action, Duration.ofSeconds(10));
+    }
+
+    public static Wait untilScreenChangesAfter(Performable action, Duration timeout) {
+        return instrumented(Wait.class, Condition.SCREEN_CHANGED, action, timeout);
+    }
+
+    public static Wait untilScreen(ScreenSignature signature) {
+        return instrumented(Wait.class, Condition.SCREEN_MATCHES, signature, Duration.ofSeconds(10));
+    }
+
+    public static Wait untilScreen(ScreenSignature signature, Duration timeout) {
+        return instrumented(Wait.class, Condition.SCREEN_MATCHES, signature, timeout);
+    }
+
     // Builder pattern para configuración avanzada
     public static WaitBuilder builder() {
         return new WaitBuilder();
@@ -200,8 +475,11 @@ public class Wait implements Interaction {
     public static class WaitBuilder {
         private Condition condition = Condition.FIXED_TIME;
         private Target target;
+        private List<Target> targets = List.of();
         private Duration timeout = Duration.ofSeconds(10);
         private String expectedText;
+        private PollingStrategy polling = PollingStrategy.defaults();
+        private boolean serverSide = ServerSideSync.ENABLED_BY_DEFAULT;
 
         public WaitBuilder condition(Condition condition) {
             this.condition = condition;
@@ -213,6 +491,11 @@ public class Wait implements Interaction {
             return this;
         }
 
+        public WaitBuilder targets(Target... targets) {
+            this.targets = List.of(targets);
+            return this;
+        }
+
         public WaitBuilder timeout(Duration timeout) {
             this.timeout = timeout;
             return this;
@@ -233,8 +516,25 @@ public class Wait implements Interaction {
             return this;
         }
 
+        public WaitBuilder polling(PollingStrategy polling) {
+            this.polling = polling;
+            return this;
+        }
+
+        public WaitBuilder serverSide(boolean serverSide) {
+            this.serverSide = serverSide;
+            return this;
+        }
+
         public Wait build() {
-            return instrumented(Wait.class, condition, target, timeout, expectedText);
+            List<Target> allTargets = targets.isEmpty() && target != null ? List.of(target) : targets;
+            return instrumented(Wait.class, condition, target, allTargets, timeout, expectedText, polling, serverSide);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Resumen barato de una pantalla: actividad y hash de los primeros niveles de la jerarquía.
+     */
+    private record ScreenDigest(String activity, long structure) {
+    }
+}
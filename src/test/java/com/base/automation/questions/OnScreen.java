@@ -0,0 +1,66 @@
+package com.base.automation.questions;
+
+import com.base.automation.abilities.ScreenHierarchy;
+import com.base.automation.abilities.ScreenSnapshot;
+import net.serenitybdd.screenplay.Question;
+import net.serenitybdd.screenplay.questions.Text;
+import net.serenitybdd.screenplay.questions.Visibility;
+import net.serenitybdd.screenplay.targets.Target;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Preguntas de sólo lectura respondidas sobre la {@link ScreenSnapshot} del actor.
+ * <p>
+ * Varias preguntas seguidas sobre la misma pantalla cuestan una sola lectura de la jerarquía. Si
+ * el localizador del target no se puede evaluar localmente se pregunta al dispositivo como haría
+ * Serenity. También se pregunta al dispositivo, descartando antes la instantánea, cuando el elemento
+ * aún no está en ella: la instantánea pudo tomarse en plena transición, y así se conserva la espera
+ * implícita mientras la pantalla termina de cargar.
+ */
+public class OnScreen {
+
+    private OnScreen() {
+    }
+
+    public static Question<String> textOf(Target target) {
+        return Question.about("el texto de " + target.getName()).answeredBy(actor -> {
+            ScreenSnapshot snapshot = ScreenSnapshot.as(actor);
+            Optional<List<ScreenHierarchy.Node>> nodes = snapshot.find(target);
+            boolean local = nodes.isPresent() && !nodes.get().isEmpty();
+            ScreenSnapshot.recordAnswer(local);
+            if (local) {
+                return nodes.get().get(0).text();
+            }
+            ScreenSnapshot.invalidate();
+            return Text.of(target).answeredBy(actor);
+        });
+    }
+
+    public static Question<Boolean> isVisible(Target target) {
+        return Question.about("la visibilidad de " + target.getName()).answeredBy(actor -> {
+            Optional<List<ScreenHierarchy.Node>> nodes = ScreenSnapshot.as(actor).find(target);
+            boolean local = nodes.isPresent() && !nodes.get().isEmpty();
+            ScreenSnapshot.recordAnswer(local);
+            if (local) {
+                return nodes.get().stream().anyMatch(ScreenHierarchy.Node::displayed);
+            }
+            ScreenSnapshot.invalidate();
+            return Visibility.of(target).answeredBy(actor);
+        });
+    }
+
+    public static Question<Integer> countOf(Target target) {
+        return Question.about("el número de " + target.getName()).answeredBy(actor -> {
+            Optional<List<ScreenHierarchy.Node>> nodes = ScreenSnapshot.as(actor).find(target);
+            boolean local = nodes.isPresent() && !nodes.get().isEmpty();
+            ScreenSnapshot.recordAnswer(local);
+            if (local) {
+                return nodes.get().size();
+            }
+            ScreenSnapshot.invalidate();
+            return target.resolveAllFor(actor).size();
+        });
+    }
+}
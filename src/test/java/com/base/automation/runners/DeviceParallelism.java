@@ -0,0 +1,44 @@
+package com.base.automation.runners;
+
+import com.base.automation.drivers.DeviceRegistry;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/**
+ * Ajusta el paralelismo de Cucumber al número de dispositivos registrados, un hilo por dispositivo.
+ */
+public class DeviceParallelism implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int devices = DeviceRegistry.devices().size();
+
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return devices;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return devices;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return devices;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return devices;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+        };
+    }
+}
@@ -2,7 +2,10 @@ package com.base.automation.stepsdefinitions;
 
 import com.base.automation.drivers.DriverFactory;
 import com.base.automation.hooks.AppiumHooks;
+import com.base.automation.interactions.Wait;
+import com.base.automation.questions.OnScreen;
 import com.base.automation.tasks.Login;
+import com.base.automation.tasks.StartAuthenticated;
 import com.base.automation.ui.ProductsPage;
 import io.appium.java_client.android.AndroidDriver;
 import io.cucumber.java.en.Given;
@@ -10,7 +13,6 @@ import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
-import net.serenitybdd.screenplay.questions.Text;
 
 import static net.serenitybdd.screenplay.GivenWhenThen.seeThat;
 import static org.hamcrest.core.IsEqual.equalTo;
@@ -28,6 +30,12 @@ public class LoginSteps {
         tester.can(BrowseTheWeb.with(hisMobileDevice));
     }
 
+    @Given("el usuario ha iniciado sesión")
+    public void usuarioAutenticado() throws Exception {
+        abrirApp();
+        tester.attemptsTo(StartAuthenticated.asStandardUser());
+    }
+
     @When("ingresa sus credenciales {string} y {string}")
     public void login(String username, String password) {
         tester.attemptsTo(Login.withCredentials(username, password));
@@ -35,6 +43,7 @@ public class LoginSteps {
 
     @Then("Se debe observar la pantalla de Productos")
     public void seDebeObservarLaPantallaDeProductos() {
-        tester.should(seeThat(Text.of(ProductsPage.PRODUCTS_TITLE), equalTo("PRODUCTS")));
+        tester.attemptsTo(Wait.untilScreen(ProductsPage.SCREEN));
+        tester.should(seeThat(OnScreen.textOf(ProductsPage.PRODUCTS_TITLE), equalTo("PRODUCTS")));
     }
 }
@@ -0,0 +1,411 @@
+package com.base.automation.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Servidor HTTP en proceso que imita los endpoints W3C/Appium que usa el framework.
+ * <p>
+ * Permite ejecutar el pool de sesiones y las interacciones sin emulador ni servidor Appium real:
+ * crea sesiones ficticias, responde a los comandos con valores neutros y añade una latencia
+ * artificial configurable a cada petición. Las peticiones W3C de acciones se guardan tal cual
+ * llegan para poder comprobar qué secuencias compuso cada gesto. Las búsquedas de elementos
+ * devuelven siempre el mismo elemento ficticio (o ninguno, según {@link #elementsPresent(boolean)}
+ * y {@link #hideElementsFor(int)}), con un rectángulo fijo; como en UiAutomator2, una búsqueda sin
+ * resultado tarda el implicit wait de la sesión. Así las interacciones pueden ejecutarse completas.
+ * Se puede levantar desde código o con {@code main}, apuntando la suite a él con {@code -Dappium.hub=http://127.0.0.1:<puerto>/}.
+ */
+public class AppiumStubServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppiumStubServer.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final String ELEMENT_ID = "stub-element";
+    private static final Pattern SESSION_PATH = Pattern.compile("/session/([^/]+)");
+    private static final String SCREENSHOT = Base64.getEncoder().encodeToString(screenshotPng());
+    // Datos de la app del stub; la caché queda fuera de las instantáneas
+    private static final Map<String, byte[]> APP_DATA = Map.of(
+            "shared_prefs/session.xml", "<map><string name=\"user\">standard_user</string></map>".getBytes(StandardCharsets.UTF_8));
+
+    static {
+        // Sin TCP_NODELAY, Nagle y el ACK retardado añaden ~40 ms a cada respuesta y ocultan la latencia configurada
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final Map<String, AtomicInteger> commandCounts = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> sessions = new ConcurrentHashMap<>();
+    private final List<JsonNode> recordedActions = new CopyOnWriteArrayList<>();
+    private volatile boolean elementsPresent = true;
+    private final AtomicInteger hiddenLookups = new AtomicInteger();
+    private volatile long implicitWaitMillis;
+    private volatile Duration recordingStartCost = Duration.ZERO;
+    // Appium atiende los comandos de una sesión de uno en uno
+    private final Map<String, Object> sessionLocks = new ConcurrentHashMap<>();
+
+    public AppiumStubServer(int port, Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "appium-stub-" + port);
+            thread.setDaemon(true);
+            return thread;
+        }));
+        this.server.createContext("/", this::handle);
+    }
+
+    public AppiumStubServer start() {
+        server.start();
+        logger.info("Stub de Appium escuchando en {}", url());
+        return this;
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public AppiumStubServer elementsPresent(boolean present) {
+        this.elementsPresent = present;
+        return this;
+    }
+
+    /**
+     * Las próximas {@code lookups} búsquedas de elementos no encuentran nada, como una lista en la
+     * que el elemento aparece tras unos swipes.
+     */
+    public AppiumStubServer hideElementsFor(int lookups) {
+        hiddenLookups.set(lookups);
+        return this;
+    }
+
+    /**
+     * Tiempo extra que tarda {@code start_recording_screen}, como el arranque de screenrecord en el
+     * dispositivo; mientras dura, los demás comandos de la sesión esperan.
+     */
+    public AppiumStubServer recordingStartCost(Duration cost) {
+        this.recordingStartCost = cost;
+        return this;
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    public int commandCount(String command) {
+        AtomicInteger count = commandCounts.get(command);
+        return count == null ? 0 : count.get();
+    }
+
+    public int totalCommands() {
+        return commandCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /**
+     * Cuerpos {@code actions} de cada {@code POST /session/{id}/actions} recibido, en orden.
+     */
+    public List<JsonNode> recordedActions() {
+        return List.copyOf(recordedActions);
+    }
+
+    public void resetCounters() {
+        commandCounts.clear();
+        recordedActions.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().replaceAll("/+$", "");
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String command = method + " " + path.replaceAll("/session/[^/]+", "/session/{id}")
+                .replaceAll("/element/[^/]+", "/element/{id}");
+        commandCounts.computeIfAbsent(command, k -> new AtomicInteger()).incrementAndGet();
+
+        Object value;
+        Matcher session = SESSION_PATH.matcher(path);
+        if (session.lookingAt()) {
+            synchronized (sessionLocks.computeIfAbsent(session.group(1), k -> new Object())) {
+                sleep(latency);
+                value = respond(method, path, body);
+            }
+        } else {
+            sleep(latency);
+            value = respond(method, path, body);
+        }
+        int status = 200;
+        if (value instanceof StubError error) {
+            status = error.status();
+            value = Map.of("error", error.error(), "message", error.message(), "stacktrace", "");
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("value", value);
+        byte[] response = mapper.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    protected Object respond(String method, String path, String body) throws IOException {
+        if ("POST".equals(method) && path.equals("/session")) {
+            String sessionId = UUID.randomUUID().toString();
+            sessions.put(sessionId, true);
+            Map<String, Object> capabilities = new HashMap<>();
+            capabilities.put("platformName", "Android");
+            capabilities.put("automationName", "UiAutomator2");
+            capabilities.put("deviceName", "stub-device");
+            return Map.of("sessionId", sessionId, "capabilities", capabilities);
+        }
+        if ("DELETE".equals(method) && path.matches("/session/[^/]+")) {
+            sessions.remove(path.substring("/session/".length()));
+            sessionLocks.remove(path.substring("/session/".length()));
+            return null;
+        }
+        if ("POST".equals(method) && path.endsWith("/actions")) {
+            recordedActions.add(mapper.readTree(body).path("actions"));
+            return null;
+        }
+        if (path.endsWith("/window/rect")) {
+            return Map.of("x", 0, "y", 0, "width", 1080, "height", 2220);
+        }
+        if (path.endsWith("/appium/start_recording_screen")) {
+            sleep(recordingStartCost);
+            return "";
+        }
+        if (path.endsWith("/appium/stop_recording_screen")) {
+            return stopRecording(mapper.readTree(body).path("options"));
+        }
+        if (path.endsWith("/execute/sync")) {
+            JsonNode request = mapper.readTree(body);
+            return executeScript(request.path("script").asText(), request.path("args"));
+        }
+        if ("POST".equals(method) && path.endsWith("/timeouts")) {
+            JsonNode implicit = mapper.readTree(body).path("implicit");
+            if (implicit.isNumber()) {
+                implicitWaitMillis = implicit.asLong();
+            }
+            return null;
+        }
+        if ("POST".equals(method) && path.endsWith("/element")) {
+            return elementFound()
+                    ? Map.of(ELEMENT_KEY, ELEMENT_ID)
+                    : new StubError(404, "no such element", "Elemento no presente en el stub");
+        }
+        if ("POST".equals(method) && path.endsWith("/elements")) {
+            return elementFound() ? List.of(Map.of(ELEMENT_KEY, ELEMENT_ID)) : List.of();
+        }
+        if ("GET".equals(method)) {
+            return elementProperty(path);
+        }
+        return null;
+    }
+
+    // Como UiAutomator2: una búsqueda sin resultado no responde hasta agotar el implicit wait de la sesión
+    private boolean elementFound() {
+        boolean found = hiddenLookups.getAndUpdate(lookups -> Math.max(0, lookups - 1)) == 0 && elementsPresent;
+        if (!found) {
+            sleep(Duration.ofMillis(implicitWaitMillis));
+        }
+        return found;
+    }
+
+    protected Object elementProperty(String path) {
+        if (path.endsWith("/rect")) {
+            return Map.of("x", 40, "y", 600, "width", 1000, "height", 120);
+        }
+        if (path.endsWith("/displayed") || path.endsWith("/enabled")) {
+            return true;
+        }
+        if (path.endsWith("/selected")) {
+            return false;
+        }
+        if (path.endsWith("/text") || path.contains("/attribute/")) {
+            return "";
+        }
+        if (path.endsWith("/source")) {
+            return "<hierarchy rotation=\"0\"/>";
+        }
+        if (path.endsWith("/screenshot")) {
+            return SCREENSHOT;
+        }
+        return null;
+    }
+
+    protected Object executeScript(String script, JsonNode args) {
+        return switch (script) {
+            case "mobile: queryAppState" -> 4;
+            case "mobile: terminateApp", "mobile: clearApp", "mobile: isAppInstalled", "mobile: removeApp" -> true;
+            // Fichero vacío en base64
+            case "mobile: pullFile" -> "";
+            case "mobile: shell" -> shell(args.path(0));
+            default -> null;
+        };
+    }
+
+    // Sólo los comandos run-as con los que AppDataSnapshots lista y empaqueta los datos de la app
+    private static String shell(JsonNode options) {
+        JsonNode args = options.path("args");
+        String script = args.path(args.size() - 1).asText();
+        if (!"run-as".equals(options.path("command").asText())) {
+            return "";
+        }
+        if (script.contains("sha256sum")) {
+            return APP_DATA.entrySet().stream()
+                    .map(file -> sha256(file.getValue()) + "  ./" + file.getKey() + "\n")
+                    .sorted()
+                    .collect(Collectors.joining());
+        }
+        if (script.contains("tar")) {
+            // La salida de base64 en el dispositivo va partida en líneas de 76 caracteres
+            return Base64.getMimeEncoder().encodeToString(appDataArchive()) + "\n";
+        }
+        return "";
+    }
+
+    // Como Appium: con remotePath sube el vídeo allí y devuelve vacío; sin él lo devuelve en base64
+    private static String stopRecording(JsonNode options) throws IOException {
+        byte[] video = new byte[64 * 1024];
+        String remotePath = options.path("remotePath").asText("");
+        if (remotePath.isEmpty()) {
+            return Base64.getEncoder().encodeToString(video);
+        }
+        HttpRequest upload = HttpRequest.newBuilder(URI.create(remotePath))
+                .method(options.path("method").asText("PUT"), HttpRequest.BodyPublishers.ofByteArray(video))
+                .build();
+        try {
+            HttpClient.newHttpClient().send(upload, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "";
+    }
+
+    // Pantalla gris del tamaño de la ventana del stub con una franja superior, como una barra de estado
+    private static byte[] screenshotPng() {
+        BufferedImage image = new BufferedImage(1080, 2220, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.LIGHT_GRAY);
+        graphics.fillRect(0, 0, 1080, 2220);
+        graphics.setColor(Color.DARK_GRAY);
+        graphics.fillRect(0, 0, 1080, 80);
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Datos de app mínimos: un fichero de preferencias y otro de caché que no debe restaurarse
+    // tar ustar de los datos de la app con rutas relativas "./", como el que genera toybox
+    private static byte[] appDataArchive() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        APP_DATA.forEach((path, content) -> {
+            byte[] header = new byte[512];
+            put(header, 0, "./" + path);
+            put(header, 100, "0000600");
+            put(header, 124, String.format("%011o", content.length));
+            put(header, 136, "00000000000");
+            header[156] = '0';
+            put(header, 257, "ustar");
+            put(header, 263, "00");
+            Arrays.fill(header, 148, 156, (byte) ' ');
+            int checksum = 0;
+            for (byte b : header) {
+                checksum += b & 0xff;
+            }
+            put(header, 148, String.format("%06o", checksum) + "\0");
+            bytes.writeBytes(header);
+            bytes.writeBytes(content);
+            bytes.writeBytes(new byte[(512 - content.length % 512) % 512]);
+        });
+        bytes.writeBytes(new byte[1024]);
+        return bytes.toByteArray();
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] ascii = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(ascii, 0, header, offset, ascii.length);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Respuesta de error W3C que {@link #respond} puede devolver en lugar de un valor.
+     */
+    protected record StubError(int status, String error, String message) {
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Levanta un stub por cada puerto indicado (p. ej. {@code 4723,4724,4725}) para simular una
+     * granja de dispositivos, cada uno detrás de su propio servidor.
+     */
+    public static void main(String[] args) throws IOException {
+        String ports = args.length > 0 ? args[0] : "4723";
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        for (String port : ports.split(",")) {
+            new AppiumStubServer(Integer.parseInt(port.trim()), Duration.ofMillis(latencyMillis)).start();
+        }
+    }
+}
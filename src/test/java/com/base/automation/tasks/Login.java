@@ -1,10 +1,17 @@
 package com.base.automation.tasks;
 
+import com.base.automation.interactions.EnterFast;
+import com.base.automation.interactions.GestureBatch;
 import com.base.automation.interactions.TapOn;
+import com.base.automation.interactions.TypeKeys;
+import com.base.automation.utils.Config;
+import com.base.automation.utils.PreconditionMetrics;
 import net.serenitybdd.screenplay.Task;
 import net.serenitybdd.screenplay.actions.Enter;
 import net.serenitybdd.screenplay.Actor;
 
+import java.time.Duration;
+
 import static net.serenitybdd.screenplay.Tasks.instrumented;
 
 import com.base.automation.ui.LoginPage;
@@ -25,11 +32,30 @@ public class Login implements Task {
 
     @Override
     public <T extends Actor> void performAs(T actor) {
-        actor.attemptsTo(
-                Enter.theValue(username).into(LoginPage.USERNAME_FIELD),
-                Enter.theValue(password).into(LoginPage.PASSWORD_FIELD),
-                TapOn.the(LoginPage.LOGIN_BUTTON)
-        );
+        long start = System.nanoTime();
+        fillForm(actor);
+        PreconditionMetrics.record(PreconditionMetrics.UI_LOGIN, Duration.ofNanos(System.nanoTime() - start));
     }
-}
 
+    private <T extends Actor> void fillForm(T actor) {
+        switch (Config.getString("automation.login.mode", "enter")) {
+            // Un comando por campo, sin limpiar ni teclear tecla a tecla
+            case "fast" -> actor.attemptsTo(
+                    EnterFast.theValue(username).into(LoginPage.USERNAME_FIELD),
+                    EnterFast.theValue(password).into(LoginPage.PASSWORD_FIELD).thenHideKeyboard(),
+                    TapOn.the(LoginPage.LOGIN_BUTTON)
+            );
+            // Todo el formulario en una sola petición de acciones
+            case "batch" -> actor.attemptsTo(GestureBatch.of(
+                    TapOn.the(LoginPage.USERNAME_FIELD), TypeKeys.text(username),
+                    TapOn.the(LoginPage.PASSWORD_FIELD), TypeKeys.text(password),
+                    TapOn.the(LoginPage.LOGIN_BUTTON)
+            ));
+            default -> actor.attemptsTo(
+                    Enter.theValue(username).into(LoginPage.USERNAME_FIELD),
+                    Enter.theValue(password).into(LoginPage.PASSWORD_FIELD),
+                    TapOn.the(LoginPage.LOGIN_BUTTON)
+            );
+        }
+    }
+}
\ No newline at end of file
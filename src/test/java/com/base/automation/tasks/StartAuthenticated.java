@@ -0,0 +1,72 @@
+package com.base.automation.tasks;
+
+import com.base.automation.drivers.DriverFactory;
+import com.base.automation.interactions.ScreenState;
+import com.base.automation.interactions.Wait;
+import com.base.automation.ui.ProductsPage;
+import com.base.automation.utils.Config;
+import com.base.automation.utils.PreconditionMetrics;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Task;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static net.serenitybdd.screenplay.Tasks.instrumented;
+
+/**
+ * Deja al usuario en la pantalla de productos sin pasar por el formulario de login.
+ * <p>
+ * La app de Swag Labs acepta el deep link {@code swaglabs://swag-overview/} y abre el catálogo
+ * directamente, así que se lanza con {@code mobile: deepLink} y se espera a reconocer la pantalla
+ * de productos. Si el deep link falla se recurre a {@link Login}. El login completo por la UI queda
+ * para la feature de login.
+ */
+public class StartAuthenticated implements Task {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartAuthenticated.class);
+
+    private static final String DEEP_LINK = Config.getString("automation.deeplink.products", "swaglabs://swag-overview/");
+    private static final Duration DEEP_LINK_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String username;
+    private final String password;
+
+    public StartAuthenticated(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    public static StartAuthenticated as(String username, String password) {
+        return instrumented(StartAuthenticated.class, username, password);
+    }
+
+    public static StartAuthenticated asStandardUser() {
+        return as("standard_user", "secret_sauce");
+    }
+
+    @Override
+    public <T extends Actor> void performAs(T actor) {
+        long start = System.nanoTime();
+        JavascriptExecutor driver = (JavascriptExecutor) BrowseTheWeb.as(actor).getDriver();
+
+        try {
+            driver.executeScript("mobile: deepLink", Map.of("url", DEEP_LINK, "package", DriverFactory.APP_PACKAGE));
+            ScreenState.changed();
+            // Sin instrumentar: si no aparece, el fallo no debe quedar como paso fallido del escenario
+            new Wait(Wait.Condition.SCREEN_MATCHES, ProductsPage.SCREEN, DEEP_LINK_TIMEOUT).performAs(actor);
+            PreconditionMetrics.record("deep link", Duration.ofNanos(System.nanoTime() - start));
+        } catch (WebDriverException e) {
+            logger.warn("El deep link {} no llevó a productos, se inicia sesión por la UI: {}", DEEP_LINK, e.getMessage());
+            actor.attemptsTo(
+                    Login.withCredentials(username, password),
+                    Wait.untilScreen(ProductsPage.SCREEN)
+            );
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.base.automation.tools;
+
+import com.base.automation.abilities.ScreenHierarchy;
+import com.base.automation.interactions.ElementProbe;
+import com.base.automation.interactions.UiSelectors;
+import com.base.automation.utils.Config;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.appium.java_client.AppiumBy;
+import net.serenitybdd.screenplay.targets.Target;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.parser.Parser;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.jar.JarEntry;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Mide lo que cuesta resolver cada {@link Target} de {@code com.base.automation.ui} sobre jerarquías
+ * grabadas y propone un localizador equivalente más rápido.
+ * <p>
+ * Cada jerarquía se parsea una sola vez y todas las estrategias se miden sobre ese árbol ya
+ * construido: un xpath, ya compilado, se evalúa con el motor xpath del JDK sobre el documento DOM;
+ * accessibility id, id y {@code UiSelector} recorren los nodos con el predicado {@code UiSelector}
+ * equivalente. Así las cifras comparan sólo la evaluación del localizador. No incluyen el volcado de la jerarquía a XML
+ * que UiAutomator2 hace en el dispositivo para cada xpath; ese coste sólo se ve midiendo contra el
+ * dispositivo. Antes de medir se ejecutan todas las búsquedas una vez, para que el primer target no
+ * cargue con el calentamiento del JIT. Una propuesta sólo se da por equivalente si devuelve
+ * exactamente los mismos nodos que el original en todas las jerarquías grabadas.
+ * <p>
+ * Las jerarquías son ficheros {@code .xml} con el page source; {@code automation.locators.record.dir}
+ * hace que {@code ScreenSnapshot} guarde las que lee durante una ejecución real. El resultado se
+ * escribe ordenado del localizador más lento al más rápido en {@code locators.json} y
+ * {@code locators.csv}. Uso: {@code mvn -Plocator-analysis test} o
+ * {@code LocatorAnalyzer [dir de jerarquías] [dir de salida]}.
+ */
+public class LocatorAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocatorAnalyzer.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String UI_PACKAGE = "com.base.automation.ui";
+    private static final int WARMUP = Config.getInt("automation.locators.warmup", 2000);
+    private static final int ITERATIONS = Config.getInt("automation.locators.iterations", 1000);
+
+    private final List<Recorded> screens;
+
+    public LocatorAnalyzer(List<Recorded> screens) {
+        this.screens = screens;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path hierarchies = Paths.get(args.length > 0 ? args[0]
+                : Config.getString("automation.locators.hierarchies", "src/test/resources/hierarchies"));
+        Path output = Paths.get(args.length > 1 ? args[1]
+                : Config.getString("automation.locators.dir", "target/locator-analysis"));
+
+        List<Recorded> screens = load(hierarchies);
+        if (screens.isEmpty()) {
+            throw new IllegalStateException("No hay jerarquías grabadas en " + hierarchies.toAbsolutePath());
+        }
+        List<Result> results = new LocatorAnalyzer(screens).analyze(targets());
+        write(results, output);
+
+        logger.info("Localizadores de {} sobre {} jerarquías, del más lento al más rápido (µs por búsqueda):",
+                UI_PACKAGE, screens.size());
+        results.forEach(result -> logger.info("  {}", result));
+        logger.info("Resultado en {}", output.toAbsolutePath());
+        System.exit(0);
+    }
+
+    public static List<Recorded> load(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Recorded> screens = new ArrayList<>();
+            for (Path file : files.filter(path -> path.toString().endsWith(".xml")).sorted().toList()) {
+                String source = Files.readString(file);
+                screens.add(new Recorded(file.getFileName().toString().replaceAll("\\.xml$", ""), source,
+                        ScreenHierarchy.parse(source), W3CDom.convert(Jsoup.parse(source, "", Parser.xmlParser()))));
+            }
+            return screens;
+        }
+    }
+
+    /**
+     * Constantes {@code public static Target} de las clases del paquete de page objects, por nombre
+     * {@code Clase.CAMPO}.
+     */
+    public static Map<String, Target> targets() {
+        Map<String, Target> targets = new LinkedHashMap<>();
+        for (Class<?> type : classesOf(UI_PACKAGE)) {
+            for (Field field : type.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && Target.class.isAssignableFrom(field.getType())) {
+                    try {
+                        targets.put(type.getSimpleName() + "." + field.getName(), (Target) field.get(null));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("No se pudo leer " + field, e);
+                    }
+                }
+            }
+        }
+        return targets;
+    }
+
+    public List<Result> analyze(Map<String, Target> targets) {
+        targets.values().forEach(target -> warmUp(ElementProbe.locatorOf(null, target)));
+        return targets.entrySet().stream()
+                .map(entry -> analyze(entry.getKey(), ElementProbe.locatorOf(null, entry.getValue())))
+                .sorted(Comparator.comparingDouble(Result::micros).reversed())
+                .toList();
+    }
+
+    // Las mismas búsquedas que se van a medir, incluidas las de los candidatos, sin tomar tiempos
+    private void warmUp(By locator) {
+        List<By> locators = new ArrayList<>(List.of(locator));
+        if (strategyOf(locator).equals("xpath") && screens.stream()
+                .anyMatch(screen -> !screen.hierarchy().find(locator).orElse(List.of()).isEmpty())) {
+            locators.addAll(candidates(locator));
+        }
+        for (By each : locators) {
+            for (Recorded screen : screens) {
+                IntSupplier search = search(each, screen);
+                for (int i = 0; i < WARMUP; i++) {
+                    search.getAsInt();
+                }
+            }
+        }
+    }
+
+    private Result analyze(String name, By locator) {
+        String strategy = strategyOf(locator);
+        List<String> foundIn = screens.stream()
+                .filter(screen -> !screen.hierarchy().find(locator).orElse(List.of()).isEmpty())
+                .map(Recorded::name)
+                .toList();
+        if (foundIn.isEmpty()) {
+            return new Result(name, strategy, valueOf(locator), List.of(), 0, null, 0,
+                    "no aparece en ninguna jerarquía grabada");
+        }
+
+        double micros = cost(locator);
+        if (!strategy.equals("xpath")) {
+            return new Result(name, strategy, valueOf(locator), foundIn, micros, null, 0, "ok");
+        }
+
+        for (By candidate : candidates(locator)) {
+            if (isEquivalent(locator, candidate)) {
+                double candidateMicros = cost(candidate);
+                if (candidateMicros < micros) {
+                    return new Result(name, strategy, valueOf(locator), foundIn, micros, javaOf(candidate),
+                            candidateMicros, "sustituir");
+                }
+            }
+        }
+        return new Result(name, strategy, valueOf(locator), foundIn, micros, null, 0, "sin equivalente más rápido");
+    }
+
+    // Por orden de preferencia: los atributos propios del nodo y, si no, la traducción directa a UiSelector
+    private List<By> candidates(By locator) {
+        List<By> candidates = new ArrayList<>();
+        List<ScreenHierarchy.Node> matches = screens.stream()
+                .flatMap(screen -> screen.hierarchy().find(locator).orElse(List.of()).stream())
+                .toList();
+        ScreenHierarchy.Node node = matches.get(0);
+        if (!node.contentDesc().isEmpty()) {
+            candidates.add(AppiumBy.accessibilityId(node.contentDesc()));
+        }
+        if (!node.resourceId().isEmpty()) {
+            candidates.add(AppiumBy.id(node.resourceId()));
+        }
+        UiSelectors.from(locator).ifPresent(selector -> candidates.add(AppiumBy.androidUIAutomator(selector)));
+        if (!node.text().isEmpty()) {
+            candidates.add(AppiumBy.androidUIAutomator(String.format("new UiSelector().className(%s).text(%s)",
+                    quote(node.className()), quote(node.text()))));
+        }
+        return candidates;
+    }
+
+    private boolean isEquivalent(By original, By candidate) {
+        return screens.stream().allMatch(screen ->
+                screen.hierarchy().find(original).equals(screen.hierarchy().find(candidate)));
+    }
+
+    /**
+     * Microsegundos medios por búsqueda, sumados sobre todas las jerarquías grabadas.
+     */
+    private double cost(By locator) {
+        double micros = 0;
+        for (Recorded screen : screens) {
+            micros += time(search(locator, screen));
+        }
+        return micros;
+    }
+
+    private static IntSupplier search(By locator, Recorded screen) {
+        if (strategyOf(locator).equals("xpath")) {
+            XPathExpression xpath = compile(valueOf(locator));
+            return () -> {
+                try {
+                    return ((NodeList) xpath.evaluate(screen.document(), XPathConstants.NODESET)).getLength();
+                } catch (XPathExpressionException e) {
+                    throw new IllegalStateException("No se pudo evaluar " + locator, e);
+                }
+            };
+        }
+        By selector = UiSelectors.from(locator).<By>map(AppiumBy::androidUIAutomator).orElse(locator);
+        return () -> screen.hierarchy().find(selector).map(List::size).orElse(0);
+    }
+
+    // Compilado una vez por búsqueda, como el UiSelector, que también se traduce antes de medir
+    private static XPathExpression compile(String xpath) {
+        try {
+            return XPathFactory.newInstance().newXPath().compile(xpath);
+        } catch (XPathExpressionException e) {
+            throw new IllegalStateException("xpath no válido: " + xpath, e);
+        }
+    }
+
+    private static double time(IntSupplier search) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += search.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += search.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        // Evita que el JIT descarte las búsquedas
+        if (sink == Integer.MIN_VALUE) {
+            logger.trace("{}", sink);
+        }
+        return elapsed / 1_000.0 / ITERATIONS;
+    }
+
+    private static void write(List<Result> results, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        mapper.writeValue(directory.resolve("locators.json").toFile(), results);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("target,strategy,locator,foundIn,micros,suggestion,suggestedMicros,verdict");
+        results.forEach(result -> lines.add(Stream.of(result.target(), result.strategy(), result.locator(),
+                        String.join(" ", result.foundIn()), round(result.micros()), result.suggestion(),
+                        round(result.suggestedMicros()), result.verdict())
+                .map(value -> value == null ? "" : String.valueOf(value).replace(",", ";"))
+                .collect(Collectors.joining(","))));
+        Files.write(directory.resolve("locators.csv"), lines);
+    }
+
+    private static List<Class<?>> classesOf(String packageName) {
+        String path = packageName.replace('.', '/');
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        List<String> names = new ArrayList<>();
+        try {
+            Enumeration<URL> roots = loader.getResources(path);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if (root.getProtocol().equals("jar")) {
+                    JarURLConnection connection = (JarURLConnection) root.openConnection();
+                    connection.getJarFile().stream()
+                            .map(JarEntry::getName)
+                            .filter(entry -> entry.startsWith(path + "/") && entry.indexOf('/', path.length() + 1) < 0)
+                            .forEach(names::add);
+                } else {
+                    try (Stream<Path> files = Files.list(Paths.get(root.toURI()))) {
+                        files.map(file -> path + "/" + file.getFileName()).forEach(names::add);
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("No se pudieron listar las clases de " + packageName, e);
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : names.stream().filter(name -> name.endsWith(".class") && !name.contains("$")).sorted().toList()) {
+            try {
+                classes.add(Class.forName(name.replace('/', '.').replaceAll("\\.class$", ""), true, loader));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("No se pudo cargar " + name, e);
+            }
+        }
+        return classes;
+    }
+
+    private static String strategyOf(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            return remotable.getRemoteParameters().using();
+        }
+        return locator.toString().startsWith("By.id: ") ? "id" : locator.toString();
+    }
+
+    private static String valueOf(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            return String.valueOf(remotable.getRemoteParameters().value());
+        }
+        return locator.toString().replaceFirst("^By\\.id: ", "");
+    }
+
+    private static String javaOf(By locator) {
+        String method = switch (strategyOf(locator)) {
+            case "accessibility id" -> "accessibilityId";
+            case "id" -> "id";
+            case "-android uiautomator" -> "androidUIAutomator";
+            default -> "xpath";
+        };
+        return "AppiumBy." + method + "(" + quote(valueOf(locator)) + ")";
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static Double round(double value) {
+        return value == 0 ? null : Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Jerarquía grabada: nombre del fichero, page source, sus nodos y su documento XML, ambos parseados
+     * una sola vez.
+     */
+    public record Recorded(String name, String source, ScreenHierarchy hierarchy, Document document) {
+    }
+
+    /**
+     * Resultado por target; {@code suggestion} es la expresión Java que lo sustituye, si la hay.
+     */
+    public record Result(String target, String strategy, String locator, List<String> foundIn, double micros,
+                         String suggestion, double suggestedMicros, String verdict) {
+
+        @Override
+        public String toString() {
+            String line = String.format("%s [%s %s] %.1f µs: %s", target, strategy, locator, micros, verdict);
+            return suggestion == null ? line
+                    : line + String.format(" por %s (%.1f µs, x%.1f)", suggestion, suggestedMicros, micros / suggestedMicros);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.base.automation.ui;
 
+import com.base.automation.interactions.ScreenSignature;
 import io.appium.java_client.AppiumBy;
 import net.serenitybdd.screenplay.targets.Target;
 
@@ -14,4 +15,7 @@ public class LoginPage {
     public static final Target LOGIN_BUTTON = Target.the("botón de login")
             .located(AppiumBy.accessibilityId("test-LOGIN"));
 
+    public static final ScreenSignature SCREEN = ScreenSignature.named("Login")
+            .anchoredBy(USERNAME_FIELD, LOGIN_BUTTON);
+
 }
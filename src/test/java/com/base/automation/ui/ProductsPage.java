@@ -1,11 +1,15 @@
 package com.base.automation.ui;
 
+import com.base.automation.interactions.ScreenSignature;
 import io.appium.java_client.AppiumBy;
 import net.serenitybdd.screenplay.targets.Target;
 
 public class ProductsPage {
 
     public static final Target PRODUCTS_TITLE = Target.the("Titulo Productos")
-            .located(AppiumBy.xpath("//android.widget.TextView[@text=\"PRODUCTS\"]"));
+            .located(AppiumBy.androidUIAutomator("new UiSelector().className(\"android.widget.TextView\").text(\"PRODUCTS\")"));
+
+    public static final ScreenSignature SCREEN = ScreenSignature.named("Productos")
+            .anchoredBy(PRODUCTS_TITLE);
 
 }
@@ -0,0 +1,178 @@
+package com.base.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import net.serenitybdd.screenplay.Performable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Latencia y tasa de error de cada comando enviado al servidor Appium, agregadas por comando W3C y
+ * por la interacción de Screenplay que lo originó.
+ * <p>
+ * La interacción se deduce de la pila del hilo que envía el comando: se toma el {@link Performable}
+ * más interno, de modo que los comandos de un {@code TapOn} dentro de {@code Login} cuentan para
+ * {@code TapOn}. Además del acumulado de la ejecución se lleva un acumulado por escenario (por hilo)
+ * que se adjunta al informe de Serenity.
+ */
+public class CommandMetrics {
+
+    private static final String OUTSIDE_INTERACTIONS = "(sin interacción)";
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Map<String, LatencyStats> byCommand = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyStats> byInteraction = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, LatencyStats>> scenarioByInteraction =
+            ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final ThreadLocal<long[]> sentByThread = ThreadLocal.withInitial(() -> new long[1]);
+
+    private CommandMetrics() {
+    }
+
+    public static void record(String command, long elapsedNanos, boolean failed) {
+        String interaction = currentInteraction();
+        byCommand.computeIfAbsent(command, k -> new LatencyStats()).add(elapsedNanos, failed);
+        byInteraction.computeIfAbsent(interaction, k -> new LatencyStats()).add(elapsedNanos, failed);
+        scenarioByInteraction.get().computeIfAbsent(interaction, k -> new LatencyStats()).add(elapsedNanos, failed);
+        sentByThread.get()[0]++;
+    }
+
+    /**
+     * Comandos enviados desde el hilo actual desde que arrancó; la diferencia entre dos lecturas da los
+     * comandos reales de una operación. Solo avanza si el driver usa {@code InstrumentedCommandExecutor}.
+     */
+    public static long sentByCurrentThread() {
+        return sentByThread.get()[0];
+    }
+
+    /**
+     * Resumen por interacción de los comandos del escenario en curso; reinicia el acumulado del hilo.
+     */
+    public static String scenarioReport() {
+        Map<String, LatencyStats> scenario = scenarioByInteraction.get();
+        scenarioByInteraction.remove();
+        return format("Comandos del escenario por interacción", scenario);
+    }
+
+    public static String report() {
+        return format("Comandos por tipo", byCommand) + "\n" + format("Comandos por interacción", byInteraction);
+    }
+
+    /**
+     * Escribe {@code commands.json} y {@code commands.csv} con el resumen de toda la ejecución.
+     */
+    public static List<Path> writeSummary() throws IOException {
+        Path directory = Paths.get(Config.getString("automation.metrics.dir", "target/command-metrics"));
+        Files.createDirectories(directory);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.addAll(rows("command", byCommand));
+        rows.addAll(rows("interaction", byInteraction));
+
+        Path json = directory.resolve("commands.json");
+        mapper.writeValue(json.toFile(), rows);
+
+        Path csv = directory.resolve("commands.csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("scope,name,count,errors,errorRate,p50Ms,p95Ms,p99Ms");
+        rows.forEach(row -> lines.add(row.values().stream()
+                .map(value -> String.valueOf(value).replace(",", ";"))
+                .collect(Collectors.joining(","))));
+        Files.write(csv, lines);
+
+        return List.of(json, csv);
+    }
+
+    private static String currentInteraction() {
+        return walker.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(Performable.class::isAssignableFrom)
+                .map(type -> type.getSimpleName().replaceAll("\\$ByteBuddy.*$", ""))
+                .findFirst()
+                .orElse(OUTSIDE_INTERACTIONS));
+    }
+
+    private static List<Map<String, Object>> rows(String scope, Map<String, LatencyStats> stats) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new TreeMap<>(stats).forEach((name, latency) -> {
+            LatencyStats.Summary summary = latency.summary();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("scope", scope);
+            row.put("name", name);
+            row.put("count", summary.count());
+            row.put("errors", summary.errors());
+            row.put("errorRate", round(summary.errorRate()));
+            row.put("p50Ms", round(summary.p50Millis()));
+            row.put("p95Ms", round(summary.p95Millis()));
+            row.put("p99Ms", round(summary.p99Millis()));
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private static String format(String title, Map<String, LatencyStats> stats) {
+        if (stats.isEmpty()) {
+            return title + ": sin comandos";
+        }
+        StringBuilder report = new StringBuilder(title).append(" (ms):");
+        new TreeMap<>(stats).forEach((name, latency) -> {
+            LatencyStats.Summary summary = latency.summary();
+            report.append(String.format("%n  %s: n=%d p50=%.1f p95=%.1f p99=%.1f errores=%d (%.1f%%)",
+                    name, summary.count(), summary.p50Millis(), summary.p95Millis(), summary.p99Millis(),
+                    summary.errors(), summary.errorRate() * 100));
+        });
+        return report.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static class LatencyStats {
+        private long[] samples = new long[64];
+        private int size;
+        private long errors;
+
+        synchronized void add(long elapsedNanos, boolean failed) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = elapsedNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summary() {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new Summary(size, errors, percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(rank, 0)] / 1_000_000.0;
+        }
+
+        record Summary(int count, long errors, double p50Millis, double p95Millis, double p99Millis) {
+            double errorRate() {
+                return count == 0 ? 0 : (double) errors / count;
+            }
+        }
+    }
+}
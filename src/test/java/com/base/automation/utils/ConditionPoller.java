@@ -0,0 +1,64 @@
+package com.base.automation.utils;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Espera a que una condición devuelva un valor distinto de {@code null}/{@code false} sondeando
+ * con una {@link PollingStrategy}, y registra el tiempo hasta cumplirse en {@link WaitMetrics}.
+ * Se registran por separado los intentos y los comandos que enviaron, porque un intento puede costar
+ * varios (por ejemplo {@code findElements} más {@code isDisplayed}, o uno por objetivo).
+ */
+public class ConditionPoller {
+
+    private ConditionPoller() {
+    }
+
+    public static <T> T until(String conditionName, Duration timeout, PollingStrategy strategy, Supplier<T> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long sentBefore = CommandMetrics.sentByCurrentThread();
+        RuntimeException lastError = null;
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                T result = condition.get();
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    recordCost(conditionName, attempt + 1, sentBefore);
+                    WaitMetrics.recordSatisfied(conditionName, Duration.ofNanos(System.nanoTime() - start));
+                    return result;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                recordCost(conditionName, attempt + 1, sentBefore);
+                WaitMetrics.recordTimeout(conditionName);
+                throw new TimeoutException(String.format("Condición '%s' no cumplida tras %d ms (%d sondeos)",
+                        conditionName, timeout.toMillis(), attempt + 1), lastError);
+            }
+
+            sleep(Math.min(strategy.intervalFor(attempt).toNanos(), remaining));
+        }
+    }
+
+    private static void recordCost(String conditionName, int attempts, long sentBefore) {
+        WaitMetrics.recordAttempts(conditionName, attempts);
+        WaitMetrics.recordCommands(conditionName, CommandMetrics.sentByCurrentThread() - sentBefore);
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Wait interrupted", e);
+        }
+    }
+}
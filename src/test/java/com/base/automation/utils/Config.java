@@ -0,0 +1,51 @@
+package com.base.automation.utils;
+
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.util.EnvironmentVariables;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lectura centralizada de propiedades de serenity.conf (sobrescribibles con -Dclave=valor).
+ */
+public class Config {
+
+    private Config() {
+    }
+
+    private static EnvironmentVariables environment() {
+        return SystemEnvironmentVariables.currentEnvironmentVariables();
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = environment().getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Propiedades bajo {@code prefix.}, con el prefijo quitado de la clave.
+     */
+    public static Map<String, String> getWithPrefix(String prefix) {
+        Map<String, String> values = new TreeMap<>();
+        environment().getPropertiesWithPrefix(prefix + ".").forEach((key, value) ->
+                values.put(key.toString().substring(prefix.length() + 1), value.toString().trim()));
+        return values;
+    }
+
+    public static Duration getMillis(String key, Duration defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Duration.ofMillis(Long.parseLong(value));
+    }
+}
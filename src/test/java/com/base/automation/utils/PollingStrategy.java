@@ -0,0 +1,61 @@
+package com.base.automation.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Intervalos de sondeo: arranca con sondeos rápidos y crece exponencialmente hasta un tope,
+ * con un jitter proporcional para no sincronizar varios hilos contra el mismo servidor.
+ */
+public class PollingStrategy {
+
+    private final Duration initialInterval;
+    private final double multiplier;
+    private final Duration maxInterval;
+    private final double jitter;
+
+    public PollingStrategy(Duration initialInterval, double multiplier, Duration maxInterval, double jitter) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("El multiplicador debe ser >= 1");
+        }
+        if (jitter < 0.0 || jitter >= 1.0) {
+            throw new IllegalArgumentException("El jitter debe estar en [0, 1)");
+        }
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Estrategia por defecto, configurable en serenity.conf bajo {@code automation.wait.polling}.
+     */
+    public static PollingStrategy defaults() {
+        return new PollingStrategy(
+                Config.getMillis("automation.wait.polling.initial", Duration.ofMillis(25)),
+                Double.parseDouble(Config.getString("automation.wait.polling.multiplier", "1.6")),
+                Config.getMillis("automation.wait.polling.max", Duration.ofMillis(500)),
+                Double.parseDouble(Config.getString("automation.wait.polling.jitter", "0.2")));
+    }
+
+    public static PollingStrategy fixed(Duration interval) {
+        return new PollingStrategy(interval, 1.0, interval, 0.0);
+    }
+
+    /**
+     * Intervalo a esperar antes del sondeo número {@code attempt} (empezando en 0).
+     */
+    public Duration intervalFor(int attempt) {
+        double base = initialInterval.toMillis() * Math.pow(multiplier, attempt);
+        double capped = Math.min(base, maxInterval.toMillis());
+        double spread = capped * jitter;
+        double jittered = capped + (spread == 0 ? 0 : ThreadLocalRandom.current().nextDouble(-spread, spread));
+        return Duration.ofMillis(Math.max(1, Math.round(jittered)));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("inicial=%d ms, x%.1f, tope=%d ms, jitter=%.0f%%",
+                initialInterval.toMillis(), multiplier, maxInterval.toMillis(), jitter * 100);
+    }
+}
@@ -0,0 +1,46 @@
+package com.base.automation.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tiempo que cuesta dejar la app en el estado de partida de un escenario según la vía usada
+ * (login por la UI, deep link, snapshot...), para comparar las alternativas en el mismo informe.
+ */
+public class PreconditionMetrics {
+
+    public static final String UI_LOGIN = "login por UI";
+
+    // Por vía: [veces, milisegundos totales]
+    private static final Map<String, AtomicLongArray> timings = new ConcurrentHashMap<>();
+
+    private PreconditionMetrics() {
+    }
+
+    public static void record(String route, Duration elapsed) {
+        AtomicLongArray counts = timings.computeIfAbsent(route, k -> new AtomicLongArray(2));
+        counts.incrementAndGet(0);
+        counts.addAndGet(1, elapsed.toMillis());
+    }
+
+    public static String report() {
+        if (timings.isEmpty()) {
+            return "Precondiciones: sin registros";
+        }
+        AtomicLongArray uiLogin = timings.get(UI_LOGIN);
+        Long uiAverage = uiLogin == null ? null : uiLogin.get(1) / uiLogin.get(0);
+
+        StringBuilder report = new StringBuilder("Precondiciones por vía:");
+        new TreeMap<>(timings).forEach((route, counts) -> {
+            long average = counts.get(1) / counts.get(0);
+            report.append(String.format("%n  %s: %d veces, %d ms promedio", route, counts.get(0), average));
+            if (uiAverage != null && !route.equals(UI_LOGIN)) {
+                report.append(String.format(", ahorro %d ms/escenario frente al login por UI", uiAverage - average));
+            }
+        });
+        return report.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.base.automation.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Histogramas de tiempo hasta cumplirse cada condición de espera y registro de las esperas fijas
+ * ({@code Wait.forSeconds} y similares) que podrían sustituirse por una condición.
+ */
+public class WaitMetrics {
+
+    private static final long[] BUCKETS_MILLIS = {50, 100, 250, 500, 1000, 2500, 5000, Long.MAX_VALUE};
+
+    private static final Map<String, AtomicLongArray> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLongArray> timeouts = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLongArray> fixedSleeps = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLongArray> attempts = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLongArray> commands = new ConcurrentHashMap<>();
+
+    private WaitMetrics() {
+    }
+
+    public static void recordSatisfied(String condition, Duration elapsed) {
+        AtomicLongArray histogram = histograms.computeIfAbsent(condition, k -> new AtomicLongArray(BUCKETS_MILLIS.length));
+        for (int i = 0; i < BUCKETS_MILLIS.length; i++) {
+            if (elapsed.toMillis() <= BUCKETS_MILLIS[i]) {
+                histogram.incrementAndGet(i);
+                return;
+            }
+        }
+    }
+
+    public static void recordTimeout(String condition) {
+        timeouts.computeIfAbsent(condition, k -> new AtomicLongArray(1)).incrementAndGet(0);
+    }
+
+    /**
+     * Suma los intentos de evaluar la condición; cada intento puede enviar varios comandos.
+     */
+    public static void recordAttempts(String condition, int count) {
+        attempts.computeIfAbsent(condition, k -> new AtomicLongArray(1)).addAndGet(0, count);
+    }
+
+    /**
+     * Suma los comandos enviados realmente al servidor mientras se esperaba la condición, contados por
+     * {@link CommandMetrics#sentByCurrentThread()}.
+     */
+    public static void recordCommands(String condition, long count) {
+        commands.computeIfAbsent(condition, k -> new AtomicLongArray(1)).addAndGet(0, count);
+    }
+
+    /**
+     * Registra una espera fija y el punto del código que la pidió: [veces, milisegundos totales].
+     */
+    public static void recordFixedSleep(String callSite, Duration duration) {
+        AtomicLongArray sleeps = fixedSleeps.computeIfAbsent(callSite, k -> new AtomicLongArray(2));
+        sleeps.incrementAndGet(0);
+        sleeps.addAndGet(1, duration.toMillis());
+    }
+
+    public static String report() {
+        StringBuilder report = new StringBuilder("Esperas por condición (ms hasta cumplirse):");
+        new TreeMap<>(histograms).forEach((condition, histogram) -> {
+            report.append("\n  ").append(condition).append(": ");
+            report.append(formatHistogram(histogram));
+            AtomicLongArray timedOut = timeouts.get(condition);
+            report.append(", timeouts=").append(timedOut == null ? 0 : timedOut.get(0));
+            AtomicLongArray tried = attempts.get(condition);
+            report.append(", intentos=").append(tried == null ? 0 : tried.get(0));
+            AtomicLongArray sent = commands.get(condition);
+            report.append(", comandos=").append(sent == null ? 0 : sent.get(0));
+        });
+        timeouts.keySet().stream().filter(condition -> !histograms.containsKey(condition)).sorted()
+                .forEach(condition -> report.append("\n  ").append(condition)
+                        .append(": timeouts=").append(timeouts.get(condition).get(0)));
+
+        if (!fixedSleeps.isEmpty()) {
+            report.append("\nEsperas fijas candidatas a convertirse en condición:");
+            new TreeMap<>(fixedSleeps).forEach((callSite, sleeps) -> report.append("\n  ").append(callSite)
+                    .append(": ").append(sleeps.get(0)).append(" veces, ").append(sleeps.get(1)).append(" ms"));
+        }
+        return report.toString();
+    }
+
+    private static String formatHistogram(AtomicLongArray histogram) {
+        return IntStream.range(0, BUCKETS_MILLIS.length)
+                .filter(i -> histogram.get(i) > 0)
+                .mapToObj(i -> (BUCKETS_MILLIS[i] == Long.MAX_VALUE
+                        ? ">" + BUCKETS_MILLIS[i - 1]
+                        : "<=" + BUCKETS_MILLIS[i]) + ":" + histogram.get(i))
+                .collect(Collectors.joining(" "));
+    }
+}
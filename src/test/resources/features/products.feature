@@ -0,0 +1,5 @@
+Feature: Catálogo de productos
+
+  Scenario: Catálogo visible para un usuario autenticado
+    Given el usuario ha iniciado sesión
+    Then Se debe observar la pantalla de Productos